@@ -0,0 +1,28 @@
+package cn.pings.benchmarks.stream.forker;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ *********************************************************
+ ** @desc  ：累计处理的元素个数，元素个数由参数决定，无法使用@OperationsPerInvocation，
+ **          结果按每秒处理的元素个数输出
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class ElementCounter {
+
+    public long elements;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        elements = 0;
+    }
+}
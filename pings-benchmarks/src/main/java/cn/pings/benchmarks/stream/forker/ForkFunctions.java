@@ -0,0 +1,41 @@
+package cn.pings.benchmarks.stream.forker;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ *********************************************************
+ ** @desc  ：性能测试中使用的fork函数，cheap为求和，expensive为每个元素额外消耗固定的CPU后求和
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+final class ForkFunctions {
+
+    //**计算量较大的fork中每个元素消耗的CPU（Blackhole.consumeCPU的tokens）
+    private static final long WORK = 200;
+
+    private ForkFunctions() {}
+
+    static Function<Stream<Long>, Long> boxed(String work) {
+        if ("expensive".equals(work))
+            return s -> s.mapToLong(x -> {
+                Blackhole.consumeCPU(WORK);
+                return x;
+            }).sum();
+        return s -> s.mapToLong(Long::longValue).sum();
+    }
+
+    static Function<LongStream, Long> primitive(String work) {
+        if ("expensive".equals(work))
+            return s -> s.map(x -> {
+                Blackhole.consumeCPU(WORK);
+                return x;
+            }).sum();
+        return LongStream::sum;
+    }
+}
@@ -0,0 +1,80 @@
+package cn.pings.benchmarks.stream.forker;
+
+import cn.pings.commons.stream.forker.LongStreamForker;
+import cn.pings.commons.stream.forker.Results;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ *********************************************************
+ ** @desc  ：StreamForker的基准：对同一个源依次执行每个函数（多次遍历），以及不装箱的LongStreamForker，
+ **          参数与{@link StreamForkerScalingBenchmark}一致，结果可以直接对比；
+ **          forkedPrimitive应与同样不装箱的separatePassesPrimitive对比
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.2
+ **
+ ** V1.1 LongStreamForker使用有界队列，内存占用不随size增长  Pings 2026-10-17
+ ** V1.2 增加不装箱的多次遍历基准separatePassesPrimitive  Pings 2026-10-17
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamForkerBaselineBenchmark {
+
+    //**每个fork的队列容量（批次的个数），最多缓存64 * 1024个元素
+    private static final int QUEUE_CAPACITY = 64;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int forks;
+
+    @Param({"cheap", "expensive"})
+    private String work;
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    private long size;
+
+    private Function<Stream<Long>, Long> function;
+    private Function<LongStream, Long> primitiveFunction;
+
+    @Setup
+    public void setup() {
+        function = ForkFunctions.boxed(work);
+        primitiveFunction = ForkFunctions.primitive(work);
+    }
+
+    @Benchmark
+    public void separatePasses(ElementCounter counter, Blackhole bh) {
+        for (int i = 0; i < forks; i++)
+            bh.consume(function.apply(LongStream.range(0, size).boxed()));
+        counter.elements += size;
+    }
+
+    @Benchmark
+    public void separatePassesPrimitive(ElementCounter counter, Blackhole bh) {
+        for (int i = 0; i < forks; i++)
+            bh.consume(primitiveFunction.apply(LongStream.range(0, size)));
+        counter.elements += size;
+    }
+
+    @Benchmark
+    public void forkedPrimitive(ElementCounter counter, Blackhole bh) {
+        LongStreamForker forker = new LongStreamForker(LongStream.range(0, size)).bounded(QUEUE_CAPACITY);
+        for (int i = 0; i < forks; i++)
+            forker.fork(i, primitiveFunction);
+
+        Results results = forker.getResults();
+        for (int i = 0; i < forks; i++)
+            bh.consume(results.<Long>get(i));
+        counter.elements += size;
+    }
+}
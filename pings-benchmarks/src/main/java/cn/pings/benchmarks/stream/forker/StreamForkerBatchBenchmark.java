@@ -0,0 +1,58 @@
+package cn.pings.benchmarks.stream.forker;
+
+import cn.pings.commons.stream.forker.Results;
+import cn.pings.commons.stream.forker.StreamForker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ *********************************************************
+ ** @desc  ：StreamForker批量大小对吞吐量的影响，fork为count、sum等轻量操作，
+ **          结果为每秒处理的元素个数
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamForkerBatchBenchmark {
+
+    private static final int SIZE = 1_000_000;
+
+    @Param({"1", "64", "1024"})
+    private int batchSize;
+
+    private List<Long> source;
+
+    @Setup
+    public void setup() {
+        source = new ArrayList<>(SIZE);
+        for (long i = 0; i < SIZE; i++)
+            source.add(i);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void cheapForks(Blackhole bh) {
+        Results results = new StreamForker<>(source.stream())
+                .batchSize(batchSize)
+                .fork("count", Stream::count)
+                .fork("sum", s -> s.mapToLong(Long::longValue).sum())
+                .fork("max", s -> s.mapToLong(Long::longValue).max().orElse(0))
+                .getResults();
+
+        bh.consume(results.<Long>get("count"));
+        bh.consume(results.<Long>get("sum"));
+        bh.consume(results.<Long>get("max"));
+    }
+}
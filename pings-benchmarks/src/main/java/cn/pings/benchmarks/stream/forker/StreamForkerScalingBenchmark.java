@@ -0,0 +1,72 @@
+package cn.pings.benchmarks.stream.forker;
+
+import cn.pings.commons.stream.forker.ForkEngine;
+import cn.pings.commons.stream.forker.Results;
+import cn.pings.commons.stream.forker.StreamForker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ *********************************************************
+ ** @desc  ：StreamForker随fork个数、fork的计算量、元素个数和分发引擎的变化，
+ **          基准见{@link StreamForkerBaselineBenchmark}；
+ **          elements为每秒处理的元素个数，使用-prof gc时gc.alloc.rate.norm除以size为每个元素的分配量
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 使用有界队列，内存占用不随size增长，10^8个元素时不会耗尽堆  Pings 2026-10-17
+ * *******************************************************
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamForkerScalingBenchmark {
+
+    //**队列引擎每个fork的队列容量（批次的个数），最多缓存64 * 1024个元素
+    private static final int QUEUE_CAPACITY = 64;
+    //**环形缓冲区的容量（元素个数）
+    private static final int RING_BUFFER_CAPACITY = 65536;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int forks;
+
+    @Param({"cheap", "expensive"})
+    private String work;
+
+    @Param({"1000", "100000", "10000000", "100000000"})
+    private long size;
+
+    @Param({"QUEUE", "RING_BUFFER"})
+    private ForkEngine engine;
+
+    private Function<Stream<Long>, Long> function;
+
+    @Setup
+    public void setup() {
+        function = ForkFunctions.boxed(work);
+    }
+
+    @Benchmark
+    public void forked(ElementCounter counter, Blackhole bh) {
+        StreamForker<Long> forker = new StreamForker<>(LongStream.range(0, size).boxed())
+                .engine(engine)
+                .bounded(engine == ForkEngine.RING_BUFFER ? RING_BUFFER_CAPACITY : QUEUE_CAPACITY)
+                .batchSize(1024);
+        for (int i = 0; i < forks; i++)
+            forker.fork(i, function);
+
+        Results results = forker.getResults();
+        for (int i = 0; i < forks; i++)
+            bh.consume(results.<Long>get(i));
+        counter.elements += size;
+    }
+}
@@ -1,6 +1,11 @@
 package cn.pings.commons.filter;
 
 
+import cn.pings.commons.filter.metrics.FilterMetrics;
+import cn.pings.commons.filter.metrics.LogThrottle;
+import cn.pings.commons.filter.param.KeywordSanitizer;
+import cn.pings.commons.filter.param.SanitizingInputStream;
+import cn.pings.commons.util.net.ExclusionMatcher;
 import cn.pings.commons.util.net.NetworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,72 +13,241 @@ import org.slf4j.LoggerFactory;
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.util.*;
-import java.util.regex.*;
 
 /**
  *********************************************************
  ** @desc  ：参数过滤器,过滤敏感字符，防止sql注入和xss攻击
+ **          统计过滤的请求数、参数过滤的耗时和发送敏感字符次数最多的IP，通过JMX或者FilterMetrics.get(过滤器名称)查看
  ** @author  Pings
  ** @date    2017-10-16
- ** @version v1.0
+ ** @version v1.5
+ **
+ ** V1.1 排除的请求地址在init时编译为ExclusionMatcher  Pings 2026-10-17
+ ** V1.2 关键字在init时编译为KeywordSanitizer，可以通过keywords参数配置，不区分大小写，参数值过滤后缓存在请求中  Pings 2026-10-17
+ ** V1.3 过滤JSON、multipart等请求体，边读取边过滤，不缓存请求体  Pings 2026-10-17
+ ** V1.4 添加FilterMetrics统计，不安全参数的日志按每秒条数限流  Pings 2026-10-17
+ ** V1.5 过滤请求体时长度会改变，隐藏原请求的Content-Length  Pings 2026-10-17
  * *******************************************************
  */
 public class ParameterFilter implements Filter {
 
     private static final Logger log = LoggerFactory.getLogger(ParameterFilter.class);
+    //**默认需要过滤请求体的Content-Type
+    private static final String DEFAULT_BODY_CONTENT_TYPES = "application/json,multipart/form-data";
+    //**默认记录次数最多的IP的个数
+    private static final int DEFAULT_TOP_OFFENDERS = 20;
+    //**每类日志每秒默认最多记录的条数
+    private static final int DEFAULT_LOG_PER_SECOND = 10;
 
-    private Set<String> excludesPattern;
+    private ExclusionMatcher exclusions;
+    //**敏感关键字
+    private KeywordSanitizer sanitizer;
+    //**需要过滤请求体的Content-Type
+    private Set<String> bodyContentTypes;
+    //**统计
+    private FilterMetrics metrics;
+    //**不安全参数、不安全请求体的日志限流
+    private LogThrottle paramLog, bodyLog;
 
     @Override
     public void init(FilterConfig config) throws ServletException {
         String param = config.getInitParameter("exclusions");
         if (param != null && param.trim().length() != 0) {
-            this.excludesPattern = new HashSet<>(Arrays.asList(param.split("\\s*,\\s*")));
+            this.exclusions = ExclusionMatcher.compile(param.trim());
         }
+
+        //**关键字以|分隔，保留关键字中的空格
+        param = config.getInitParameter("keywords");
+        this.sanitizer = KeywordSanitizer.compile(param != null && param.trim().length() != 0 ? param : KeywordSanitizer.DEFAULT_KEYWORDS);
+
+        //**为空时不过滤请求体
+        param = config.getInitParameter("bodyContentTypes");
+        this.bodyContentTypes = new HashSet<>();
+        for (String type : (param != null ? param : DEFAULT_BODY_CONTENT_TYPES).split(",")) {
+            if (type.trim().length() != 0)
+                this.bodyContentTypes.add(type.trim().toLowerCase(Locale.ROOT));
+        }
+
+        String name = config.getFilterName() != null ? config.getFilterName() : ParameterFilter.class.getSimpleName();
+        param = config.getInitParameter("topOffenders");
+        this.metrics = new FilterMetrics(name, param != null && param.trim().length() != 0 ? Integer.parseInt(param.trim()) : DEFAULT_TOP_OFFENDERS);
+        param = config.getInitParameter("metricsJmx");
+        if (param == null || param.trim().length() == 0 || Boolean.parseBoolean(param.trim()))
+            this.metrics.register(ParameterFilter.class.getSimpleName());
+
+        param = config.getInitParameter("logPerSecond");
+        int logPerSecond = param != null && param.trim().length() != 0 ? Integer.parseInt(param.trim()) : DEFAULT_LOG_PER_SECOND;
+        this.paramLog = new LogThrottle(logPerSecond);
+        this.bodyLog = new LogThrottle(logPerSecond);
     }
 
     @Override
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         HttpServletRequest req = (HttpServletRequest) servletRequest;
 
-        if(!NetworkUtil.isExclusion(req.getRequestURI(), this.excludesPattern))
-            filterChain.doFilter(new ParameterRequestWrapper(req), servletResponse);
-        else
+        if(!NetworkUtil.isExclusion(req.getRequestURI(), this.exclusions)) {
+            this.metrics.allowed();
+            filterChain.doFilter(new ParameterRequestWrapper(req, this.isSanitizedBody(req.getContentType())), servletResponse);
+        } else {
+            this.metrics.excluded();
             filterChain.doFilter(servletRequest, servletResponse);
+        }
     }
 
     @Override
-    public void destroy() {}
+    public void destroy() {
+        if (this.metrics != null)
+            this.metrics.unregister();
+    }
+
+    /*是否需要过滤该Content-Type的请求体，application/json同时包括xxx+json*/
+    private boolean isSanitizedBody(String contentType) {
+        if (contentType == null || this.bodyContentTypes.isEmpty()) return false;
+
+        int end = contentType.indexOf(';');
+        String type = (end < 0 ? contentType : contentType.substring(0, end)).trim().toLowerCase(Locale.ROOT);
+        return this.bodyContentTypes.contains(type)
+                || type.endsWith("+json") && this.bodyContentTypes.contains("application/json");
+    }
 
     /**
      *********************************************************
      ** @desc  ：装饰HttpServletRequest,过滤敏感字符，防止sql注入和xss攻击
      ** @author  Pings
      ** @date    2017-10-16
-     ** @version v1.0
+     ** @version v1.3
+     **
+     ** V1.1 参数值第一次读取时过滤并缓存，getParameterMap不再每次复制，不修改原请求中的数组  Pings 2026-10-17
+     ** V1.2 过滤getInputStream和getReader读取的请求体  Pings 2026-10-17
+     ** V1.3 记录参数过滤的耗时和发送敏感字符的IP，日志按每秒条数限流  Pings 2026-10-17
      * *******************************************************
      */
     class ParameterRequestWrapper extends HttpServletRequestWrapper {
 
-        public ParameterRequestWrapper(HttpServletRequest request) {
+        //**已过滤的参数值，没有敏感字符的参数与原请求共用数组
+        private final Map<String, String[]> sanitized = new HashMap<>();
+        //**过滤后的全部参数，第一次调用getParameterMap时创建
+        private Map<String, String[]> parameterMap;
+        //**是否过滤请求体
+        private final boolean sanitizeBody;
+        //**过滤后的请求体，getInputStream和getReader只能使用其中一个
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        public ParameterRequestWrapper(HttpServletRequest request, boolean sanitizeBody) {
             super(request);
+            this.sanitizeBody = sanitizeBody;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (!this.sanitizeBody) return super.getInputStream();
+            if (this.reader != null) throw new IllegalStateException("getReader() has already been called for this request");
+
+            if (this.inputStream == null)
+                this.inputStream = this.sanitizeBody();
+            return this.inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (!this.sanitizeBody) return super.getReader();
+            if (this.inputStream != null) throw new IllegalStateException("getInputStream() has already been called for this request");
+
+            if (this.reader == null) {
+                //**未指定编码时与servlet规范一致，使用ISO-8859-1
+                String encoding = this.getCharacterEncoding();
+                this.reader = new BufferedReader(new InputStreamReader(this.sanitizeBody(), encoding == null ? "ISO-8859-1" : encoding));
+            }
+            return this.reader;
+        }
+
+        //**过滤请求体时删除关键字会改变长度，长度未知，返回-1
+        @Override
+        public int getContentLength() {
+            return this.sanitizeBody ? -1 : super.getContentLength();
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return this.sanitizeBody ? -1 : super.getContentLengthLong();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return this.hidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return this.hidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            return this.hidden(name) ? -1 : super.getIntHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            Enumeration<String> names = super.getHeaderNames();
+            if (!this.sanitizeBody || names == null) return names;
+
+            List<String> result = new ArrayList<>();
+            while (names.hasMoreElements()) {
+                String name = names.nextElement();
+                if (!this.hidden(name))
+                    result.add(name);
+            }
+            return Collections.enumeration(result);
+        }
+
+        /*过滤请求体时隐藏Content-Length请求头*/
+        private boolean hidden(String name) {
+            return this.sanitizeBody && "Content-Length".equalsIgnoreCase(name);
+        }
+
+        /*边读取边过滤的请求体*/
+        private ServletInputStream sanitizeBody() throws IOException {
+            return new SanitizingInputStream(super.getInputStream(), sanitizer, this.getContentType(), () -> {
+                String ip = NetworkUtil.getIp(this);
+                metrics.sanitized(ip);
+
+                long suppressed = bodyLog.tryAcquire();
+                if (suppressed >= 0)
+                    log.error("不安全的请求体: " + ip + " " + this.getRequestURI() + LogThrottle.note(suppressed));
+            });
+        }
+
+        /*记录一次删除了关键字的参数*/
+        private void unsafe(Object value) {
+            String ip = NetworkUtil.getIp(this);
+            metrics.sanitized(ip);
+
+            long suppressed = paramLog.tryAcquire();
+            if (suppressed >= 0)
+                log.error("不安全的参数: " + ip + " " + value + LogThrottle.note(suppressed));
         }
 
         @Override
         public String getParameter(String name) {
-            return this.filter(super.getParameter(name));
+            String[] values = this.getParameterValues(name);
+            return values == null || values.length == 0 ? null : values[0];
         }
 
         @Override
         public String[] getParameterValues(String name) {
-            String[] values = super.getParameterValues(name);
+            if (this.parameterMap != null)
+                return this.parameterMap.get(name);
 
-            if(values == null) return null;
-
-            for (int i = 0; i < values.length; i++) {
-                values[i] = this.filter(values[i]);
+            String[] values = this.sanitized.get(name);
+            if (values == null && !this.sanitized.containsKey(name)) {
+                values = this.filter(super.getParameterValues(name));
+                this.sanitized.put(name, values);
             }
 
             return values;
@@ -81,16 +255,24 @@ public class ParameterFilter implements Filter {
 
         @Override
         public Map<String, String[]> getParameterMap() {
-            Map<String, String[]> parameters = new HashMap<>();
-            parameters.putAll(super.getParameterMap());
+            if (this.parameterMap != null)
+                return this.parameterMap;
+
+            Map<String, String[]> parameters = super.getParameterMap();
+            Map<String, String[]> result = null;
+            for (Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+                String[] values = this.getParameterValues(parameter.getKey());
 
-            Iterator<Map.Entry<String, String[]>> it = parameters.entrySet().iterator();
-            while (it.hasNext()) {
-                Map.Entry<String, String[]> paramter = it.next();
-                paramter.setValue(this.filter(paramter.getValue()));
+                //**第一个有敏感字符的参数出现时才复制
+                if (result == null && values != parameter.getValue()) {
+                    result = new LinkedHashMap<>(parameters);
+                }
+                if (result != null)
+                    result.put(parameter.getKey(), values);
             }
 
-            return parameters;
+            this.parameterMap = result == null ? parameters : Collections.unmodifiableMap(result);
+            return this.parameterMap;
         }
 
         /**
@@ -99,16 +281,18 @@ public class ParameterFilter implements Filter {
          ** @author Pings
          ** @date   2017/10/16
          ** @param  values
+         ** @return 都没有敏感字符时返回values本身
          * *******************************************************
          */
         private String[] filter(String[] values) {
-            if (values == null) return null;
-
-            for(int i = 0; i < values.length; i++) {
-                values[i] = this.filter(values[i]);
+            long start = System.nanoTime();
+            String[] result = sanitizer.sanitize(values);
+            metrics.latency(System.nanoTime() - start);
+            if (result != values) {
+                this.unsafe(Arrays.toString(values));
             }
 
-            return values;
+            return result;
         }
 
         /**
@@ -120,17 +304,14 @@ public class ParameterFilter implements Filter {
          * *******************************************************
          */
         public String filter(String value) {
-            if (value == null) return null;
-
-            String reg = "update |delete |insert |truncate |execute |script";
-
-            Matcher matcher = Pattern.compile(reg).matcher(value);
-            if(matcher.find()) {
-                log.error("不安全的参数: " + value);
-                return matcher.replaceAll("");
+            long start = System.nanoTime();
+            String result = sanitizer.sanitize(value);
+            metrics.latency(System.nanoTime() - start);
+            if (result != value) {
+                this.unsafe(value);
             }
 
-            return value;
+            return result;
         }
     }
 }
@@ -139,9 +320,37 @@ public class ParameterFilter implements Filter {
 <filter>
 	<filter-name>ParameterFilter</filter-name>
 	<filter-class>cn.pings.commons.filter.ParameterFilter</filter-class>
+	<!-- 排除的请求地址，规则同VisitFilter，/druid匹配/druid下的所有请求 -->
 	<init-param>
 	    <param-name>exclusions</param-name>
 	    <param-value>*.js,*.gif,*.jpg,*.png,*.css,*.ico,/druid</param-value>
 	</init-param>
+	<!-- 需要删除的关键字，以|分隔，不区分大小写，保留关键字中的空格，默认如下 -->
+	<init-param>
+	    <param-name>keywords</param-name>
+	    <param-value>update |delete |insert |truncate |execute |script</param-value>
+	</init-param>
+	<!-- 需要过滤请求体的Content-Type，逗号分隔，为空时不过滤请求体，默认如下；
+	     JSON只过滤字符串值，multipart只过滤普通字段，文件原样保留，其它类型过滤全部内容 -->
+	<init-param>
+	    <param-name>bodyContentTypes</param-name>
+	    <param-value>application/json,multipart/form-data</param-value>
+	</init-param>
+	<!-- 是否把统计注册为JMX MBean（cn.pings.commons.filter:type=ParameterFilter,name=过滤器名称），默认true；
+	     统计中的耗时为每个参数过滤关键字的耗时 -->
+	<init-param>
+	    <param-name>metricsJmx</param-name>
+	    <param-value>true</param-value>
+	</init-param>
+	<!-- 统计中记录的发送敏感字符次数最多的IP个数，默认20 -->
+	<init-param>
+	    <param-name>topOffenders</param-name>
+	    <param-value>20</param-value>
+	</init-param>
+	<!-- 不安全参数、不安全请求体这两类日志每秒最多记录的条数，超出的只计数，<=0时不限制，默认10 -->
+	<init-param>
+	    <param-name>logPerSecond</param-name>
+	    <param-value>10</param-value>
+	</init-param>
 </filter>
 */
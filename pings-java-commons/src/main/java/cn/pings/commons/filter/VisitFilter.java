@@ -1,7 +1,18 @@
 package cn.pings.commons.filter;
 
 
+import cn.pings.commons.filter.metrics.FilterMetrics;
+import cn.pings.commons.filter.metrics.LogThrottle;
+import cn.pings.commons.filter.visit.LeakyBucketRateLimiter;
+import cn.pings.commons.filter.visit.RateLimitAlgorithm;
+import cn.pings.commons.filter.visit.RateLimiter;
+import cn.pings.commons.filter.visit.RedisRateLimiter;
+import cn.pings.commons.filter.visit.VisitRulesReloader;
+import cn.pings.commons.filter.visit.VisitTracker;
+import cn.pings.commons.util.net.IpMatcher;
+import cn.pings.commons.util.net.ExclusionMatcher;
 import cn.pings.commons.util.net.NetworkUtil;
+import cn.pings.commons.util.spring.SpringContextUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -9,56 +20,101 @@ import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.text.SimpleDateFormat;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *********************************************************
  ** @desc  ：访问控制过滤器
  **          1.控制IP是否能访问系统
  **          2.控制单个IP每秒的最大访问次数
+ **          3.limiter为redis时多个实例共享IP的访问次数
+ **          4.rejectIps、allowIps、maxVisit、burst可以从文件或者Redis中定期加载，无需重启
+ **          5.统计放行、拒绝、超限的请求数、过滤器耗时和次数最多的IP，通过JMX或者FilterMetrics.get(过滤器名称)查看
  ** @author  Pings
  ** @date    2017-10-17
- ** @version v1.1
+ ** @version v1.11
  **
  ** V1.1 添加允许IP列表  Pings 2017-10-20
+ ** V1.2 访问计数改为无锁实现，每次请求不再创建对象和格式化时间  Pings 2026-10-17
+ ** V1.3 访问日志改为有界的VisitTracker，移除空闲的IP，超过上限时淘汰最久未访问的IP  Pings 2026-10-17
+ ** V1.4 支持滑动窗口、令牌桶、漏桶等限流算法，通过limiter参数选择  Pings 2026-10-17
+ ** V1.5 支持基于Redis的集群限流，本地累计访问次数后批量同步  Pings 2026-10-17
+ ** V1.6 拒绝和允许IP列表在init时编译为IpMatcher，支持CIDR、范围和IPv6  Pings 2026-10-17
+ ** V1.7 IP列表和访问次数限制改为不可变的Policy，支持热加载，不再使用静态变量  Pings 2026-10-17
+ ** V1.8 排除的请求地址在init时编译为ExclusionMatcher  Pings 2026-10-17
+ ** V1.9 添加FilterMetrics统计，拒绝访问的日志按每秒条数限流  Pings 2026-10-17
+ ** V1.10 漏桶默认不在请求线程中等待，添加leakyBucketMaxWait参数  Pings 2026-10-17
+ ** V1.11 destroy后加载的规则不再替换当前规则，新建的限流算法和访问日志随即关闭  Pings 2026-10-17
  * *******************************************************
  */
 public class VisitFilter implements Filter {
 
     private static Logger log = LoggerFactory.getLogger(VisitFilter.class);
-    //**访问日志
-    public static final Map<String, NetVisit> VISIT_LOG = new ConcurrentHashMap<>();
+    //**IP每秒的默认最大访问次数
+    private static final int DEFAULT_MAX_VISIT = 50;
+    //**访问日志的默认记录数上限
+    private static final int DEFAULT_VISIT_LOG_SIZE = 100_000;
+    //**访问日志的默认空闲时间（秒）
+    private static final int DEFAULT_VISIT_LOG_EXPIRE = 60;
+    //**集群限流默认的同步间隔（毫秒）
+    private static final int DEFAULT_REDIS_FLUSH_INTERVAL = 5;
+    //**规则默认的加载间隔（秒）
+    private static final int DEFAULT_RULES_RELOAD_INTERVAL = 10;
+    //**默认记录次数最多的IP的个数
+    private static final int DEFAULT_TOP_OFFENDERS = 20;
+    //**每类日志每秒默认最多记录的条数
+    private static final int DEFAULT_LOG_PER_SECOND = 10;
+    //**可以热加载的参数
+    private static final List<String> RELOADABLE_PARAMS = Arrays.asList("rejectIps", "allowIps", "maxVisit", "burst");
+
+    private FilterConfig config;
+    //**当前的访问规则，加载新规则时整体替换
+    private volatile Policy policy;
+    //**规则加载器，未配置规则来源时为null
+    private VisitRulesReloader reloader;
+    //**是否已经destroy，与替换规则互斥，destroy后不再替换
+    private boolean closed;
     //**排除的访问地址
-    private Set<String> excludesPattern;
-    //**拒绝访问IP列表
-    private static Set<String> rejectIps;
-    //**允许访问IP列表
-    private static Set<String> allowIps;
-    //**IP每秒的最大访问次数
-    private static int maxVisit = 50;
+    private ExclusionMatcher exclusions;
+    //**统计
+    private FilterMetrics metrics;
+    //**禁止访问、超过最大访问次数、超过一半的日志限流
+    private LogThrottle rejectLog, throttleLog, warnLog;
 
     @Override
     public void init(FilterConfig config) throws ServletException {
+        this.config = config;
+
         String param = config.getInitParameter("exclusions");
         if (param != null && param.trim().length() != 0) {
-            this.excludesPattern = new HashSet<>(Arrays.asList(param.split("\\s*,\\s*")));
+            this.exclusions = ExclusionMatcher.compile(param.trim());
         }
 
-        param = config.getInitParameter("rejectIps");
-        if (param != null && param.trim().length() != 0) {
-            rejectIps = new HashSet<>(Arrays.asList(param.split("\\s*,\\s*")));
-        }
-        
-        param = config.getInitParameter("allowIps");
-        if (param != null && param.trim().length() != 0) {
-        	allowIps = new HashSet<>(Arrays.asList(param.split("\\s*,\\s*")));
-        }
+        this.policy = this.buildPolicy(Collections.emptyMap(), null);
 
-        param = config.getInitParameter("maxVisit");
-        if (param != null && param.trim().length() != 0) {
-            maxVisit = Integer.parseInt(param);
+        String name = config.getFilterName() != null ? config.getFilterName() : VisitFilter.class.getSimpleName();
+        this.metrics = new FilterMetrics(name, Integer.parseInt(param(config, "topOffenders", String.valueOf(DEFAULT_TOP_OFFENDERS))));
+        if (Boolean.parseBoolean(param(config, "metricsJmx", "true")))
+            this.metrics.register(VisitFilter.class.getSimpleName());
+
+        int logPerSecond = Integer.parseInt(param(config, "logPerSecond", String.valueOf(DEFAULT_LOG_PER_SECOND)));
+        this.rejectLog = new LogThrottle(logPerSecond);
+        this.throttleLog = new LogThrottle(logPerSecond);
+        this.warnLog = new LogThrottle(logPerSecond);
+
+        //**规则来源：文件和/或Redis的hash，其中的参数覆盖init-param
+        String rulesFile = param(config, "rulesFile", null);
+        String rulesRedisKey = param(config, "rulesRedisKey", null);
+        if (rulesFile != null || rulesRedisKey != null) {
+            String templateName = param(config, "redisTemplate", "redisTemplate");
+            int interval = Integer.parseInt(param(config, "rulesReloadInterval", String.valueOf(DEFAULT_RULES_RELOAD_INTERVAL)));
+
+            this.reloader = new VisitRulesReloader(rulesFile == null ? null : Paths.get(rulesFile),
+                    rulesRedisKey == null ? null : () -> SpringContextUtil.getBean(templateName), rulesRedisKey,
+                    interval, TimeUnit.SECONDS, this::reload);
         }
     }
 
@@ -66,17 +122,27 @@ public class VisitFilter implements Filter {
     public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain filterChain) throws IOException, ServletException {
         HttpServletRequest req = (HttpServletRequest) servletRequest;
         HttpServletResponse resp = (HttpServletResponse) servletResponse;
+        long start = System.nanoTime();
 
         //**排除的请求地址
-        if(NetworkUtil.isExclusion(req.getRequestURI(), this.excludesPattern)) {
+        if(NetworkUtil.isExclusion(req.getRequestURI(), this.exclusions)) {
+            this.metrics.excluded();
             filterChain.doFilter(servletRequest, servletResponse);
             return;
         }
 
+        //**整个请求使用同一份规则
+        Policy policy = this.policy;
+
         //**禁止访问的IP
         String ip = NetworkUtil.getIp(req);
-        if(this.isReject(ip) || !this.isAllow(ip)) {
-            log.error(ip + "：禁止访问");
+        if(policy.isReject(ip) || !policy.isAllow(ip)) {
+            this.metrics.latency(System.nanoTime() - start);
+            this.metrics.rejected(ip);
+
+            long suppressed = this.rejectLog.tryAcquire();
+            if (suppressed >= 0)
+                log.error(ip + "：禁止访问" + LogThrottle.note(suppressed));
 
             resp.setContentType("text/html;charset=UTF-8");
             resp.getWriter().write(ip + "：系统拒绝您访问");
@@ -84,12 +150,18 @@ public class VisitFilter implements Filter {
             return;
         }
 
-        //**IP每秒的访问次数
-        int count = VISIT_LOG.containsKey(ip) ? VISIT_LOG.get(ip).add() : VISIT_LOG.put(ip, new NetVisit(ip)) == null ? 1 : 1;
+        //**IP的使用量：窗口内的访问次数、已使用的令牌数或者排队的请求数
+        long count = policy.visit(ip);
+        long limit = policy.limiter.getLimit();
 
         //**IP每秒的访问次数 > 最大访问次数
-        if(count > maxVisit) {
-            log.error(ip + "：访问次数超过允许的每秒最大访问次数，禁止访问");
+        if(count > limit) {
+            this.metrics.latency(System.nanoTime() - start);
+            this.metrics.throttled(ip);
+
+            long suppressed = this.throttleLog.tryAcquire();
+            if (suppressed >= 0)
+                log.error(ip + "：访问次数超过允许的每秒最大访问次数，禁止访问" + LogThrottle.note(suppressed));
 
             resp.setContentType("text/html;charset=UTF-8");
             resp.getWriter().write(ip + "：您的访问次数超过最大限制");
@@ -98,101 +170,152 @@ public class VisitFilter implements Filter {
         }
 
         //**IP每秒的访问次数 > 最大访问次数/2
-        if(count > maxVisit / 2) {
-            log.warn(ip + "：访问次数超过允许的每秒最大访问次数的一半");
+        if(count > limit / 2) {
+            long suppressed = this.warnLog.tryAcquire();
+            if (suppressed >= 0)
+                log.warn(ip + "：访问次数超过允许的每秒最大访问次数的一半" + LogThrottle.note(suppressed));
         }
 
+        //**只统计过滤器自身的耗时，不包括后续的处理
+        this.metrics.latency(System.nanoTime() - start);
+        this.metrics.allowed();
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
     @Override
-    public void destroy() {}
-    
-    /*是否匹配拒绝IP列表*/
-	private boolean isReject(String ip) {
-		//**拒绝列表默认关闭
-		if (rejectIps == null) return false;
-		
-		for (String rejectIp : rejectIps) {
-			if (NetworkUtil.matchIp(ip, rejectIp))
-				return true;
-		}
-
-		return false;
+    public void destroy() {
+        if (this.metrics != null)
+            this.metrics.unregister();
+        if (this.reloader != null)
+            this.reloader.close();
+
+        //**加载器的线程可能仍在构建新规则，标记后由其关闭新建的对象
+        Policy policy;
+        synchronized (this) {
+            this.closed = true;
+            policy = this.policy;
+        }
+        if (policy != null)
+            policy.close();
     }
-	
-	/*是否匹配允许IP列表*/
-	private boolean isAllow(String ip) {
-		//**允许列表默认关闭
-		if (allowIps == null) return true;
-		
-		for (String allowIp : allowIps) {
-			if (NetworkUtil.matchIp(ip, allowIp))
-				return true;
-		}
-
-		return false;
-	}
-
-    /**
-     *********************************************************
-     ** @desc  ： 网络访问对象
-     ** @author  Pings
-     ** @date    2017-10-17
-     ** @version v1.0
-     * *******************************************************
-     */
-    static class NetVisit {
-        public static final SimpleDateFormat format = new SimpleDateFormat("YYYY-MM-dd HH:mm:ss");
-        //**访问IP
-        private String ip;
-        //**访问次数
-        private int count;
-        //**当前时间
-        private Date current;
-
-        public NetVisit(String ip) {
-            this(ip, 1, new Date());
+
+    /*加载到新规则，在加载器的线程中构建后替换当前规则*/
+    private void reload(Map<String, String> rules) {
+        Policy current = this.policy;
+        Policy loaded = this.buildPolicy(rules, current);
+        synchronized (this) {
+            //**已经destroy时丢弃新规则，只关闭新建的限流算法和访问日志，沿用的由destroy关闭
+            if (this.closed) {
+                if (loaded.limiter != current.limiter)
+                    loaded.close();
+                return;
+            }
+            this.policy = loaded;
         }
 
-        public NetVisit(String ip, int count, Date current) {
-            this.ip = ip;
-            this.count = count;
-            this.current = current;
+        //**访问次数限制变化时替换了限流算法和访问日志，正在处理的请求仍可使用旧的对象
+        if (loaded.limiter != current.limiter)
+            current.close();
+
+        log.info("Visit rules reloaded: maxVisit=" + loaded.maxVisit + ", burst=" + loaded.burst
+                + ", rejectIps=" + rules.containsKey("rejectIps") + ", allowIps=" + rules.containsKey("allowIps"));
+    }
+
+    /*由init-param和加载的规则构建Policy，访问次数限制不变时沿用current的限流算法和访问日志*/
+    private Policy buildPolicy(Map<String, String> rules, Policy current) {
+        Map<String, String> params = new HashMap<>();
+        for (String name : RELOADABLE_PARAMS) {
+            String value = rules.containsKey(name) ? rules.get(name) : this.config.getInitParameter(name);
+            if (value != null && value.trim().length() != 0)
+                params.put(name, value.trim());
         }
 
-        public String getIp() {
-            return ip;
+        IpMatcher rejectIps = params.containsKey("rejectIps") ? IpMatcher.compile(params.get("rejectIps")) : null;
+        IpMatcher allowIps = params.containsKey("allowIps") ? IpMatcher.compile(params.get("allowIps")) : null;
+        int maxVisit = params.containsKey("maxVisit") ? Integer.parseInt(params.get("maxVisit")) : DEFAULT_MAX_VISIT;
+        int burst = params.containsKey("burst") ? Integer.parseInt(params.get("burst")) : maxVisit;
+
+        if (current != null && current.maxVisit == maxVisit && current.burst == burst)
+            return new Policy(rejectIps, allowIps, maxVisit, burst, current.limiter, current.visitLog);
+
+        RateLimiter limiter = this.createLimiter(maxVisit, burst);
+        int visitLogSize = Integer.parseInt(param(this.config, "visitLogSize", String.valueOf(DEFAULT_VISIT_LOG_SIZE)));
+        int visitLogExpire = Integer.parseInt(param(this.config, "visitLogExpire", String.valueOf(DEFAULT_VISIT_LOG_EXPIRE)));
+        VisitTracker<AtomicLong> visitLog = new VisitTracker<>(visitLogSize, visitLogExpire, TimeUnit.SECONDS);
+
+        return new Policy(rejectIps, allowIps, maxVisit, burst, limiter, visitLog);
+    }
+
+    /*创建限流算法，limiter为redis时创建集群限流，redisTemplate在第一次同步时从spring上下文中获取*/
+    private RateLimiter createLimiter(int maxVisit, int burst) {
+        String param = param(this.config, "limiter", null);
+        if (!"redis".equalsIgnoreCase(param)) {
+            RateLimitAlgorithm algorithm = param == null ? RateLimitAlgorithm.FIXED_WINDOW : RateLimitAlgorithm.of(param);
+
+            //**漏桶默认不等待，设置leakyBucketMaxWait时在请求线程中最多等待该时间
+            int maxWait = Integer.parseInt(param(this.config, "leakyBucketMaxWait", "0"));
+            if (algorithm == RateLimitAlgorithm.LEAKY_BUCKET && maxWait > 0)
+                return new LeakyBucketRateLimiter(maxVisit, burst, maxWait, TimeUnit.MILLISECONDS);
+            return algorithm.create(maxVisit, burst);
         }
 
-        public synchronized int getCount() {
-            return count;
+        String templateName = param(this.config, "redisTemplate", "redisTemplate");
+        String keyPrefix = param(this.config, "redisKeyPrefix", "visit:limit:");
+        int flushInterval = Integer.parseInt(param(this.config, "redisFlushInterval", String.valueOf(DEFAULT_REDIS_FLUSH_INTERVAL)));
+
+        return new RedisRateLimiter(() -> SpringContextUtil.getBean(templateName), maxVisit, keyPrefix, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /*获取init-param，为空时返回默认值*/
+    private static String param(FilterConfig config, String name, String defaultValue) {
+        String param = config.getInitParameter(name);
+        return param == null || param.trim().length() == 0 ? defaultValue : param.trim();
+    }
+
+    /*访问规则，创建后不可变*/
+    private static final class Policy {
+        //**拒绝访问IP列表
+        private final IpMatcher rejectIps;
+        //**允许访问IP列表
+        private final IpMatcher allowIps;
+        //**IP每秒的最大访问次数
+        private final int maxVisit;
+        //**令牌桶的容量或者漏桶的队列长度
+        private final int burst;
+        //**限流算法
+        private final RateLimiter limiter;
+        //**访问日志，每个IP的限流状态
+        private final VisitTracker<AtomicLong> visitLog;
+
+        Policy(IpMatcher rejectIps, IpMatcher allowIps, int maxVisit, int burst, RateLimiter limiter, VisitTracker<AtomicLong> visitLog) {
+            this.rejectIps = rejectIps;
+            this.allowIps = allowIps;
+            this.maxVisit = maxVisit;
+            this.burst = burst;
+            this.limiter = limiter;
+            this.visitLog = visitLog;
         }
 
-        public Date getCurrent() {
-            return current;
+        /*记录IP的一次访问，返回本次访问后的使用量*/
+        long visit(String ip) {
+            return this.limiter.acquire(ip, this.visitLog.get(ip, key -> this.limiter.newState()));
         }
 
-        /**
-         *********************************************************
-         ** @desc ：  每秒访问的次数增加
-         ** @author Pings
-         ** @date   2017/10/17
-         * *******************************************************
-         */
-        public int add() {
-            synchronized (this) {
-                Date now = new Date();
-
-                if (format.format(now).equals(format.format(this.getCurrent()))) {
-                    this.count++;
-                } else {
-                    this.count = 1;
-                    this.current = now;
-                }
-
-                return this.count;
-            }
+        /*是否匹配拒绝IP列表*/
+        boolean isReject(String ip) {
+            //**拒绝列表默认关闭
+            return this.rejectIps != null && this.rejectIps.matches(ip);
+        }
+
+        /*是否匹配允许IP列表*/
+        boolean isAllow(String ip) {
+            //**允许列表默认关闭
+            return this.allowIps == null || this.allowIps.matches(ip);
+        }
+
+        void close() {
+            this.visitLog.close();
+            this.limiter.close();
         }
     }
 }
@@ -200,17 +323,17 @@ public class VisitFilter implements Filter {
 <filter>
 	<filter-name>VisitFilter</filter-name>
 	<filter-class>cn.pings.commons.filter.VisitFilter</filter-class>
-	<!-- 排除的请求地址 -->
+	<!-- 排除的请求地址，支持扩展名（*.js）、路径前缀（/druid匹配/druid/index.html）和通配符（/static/**、/api/v?/users），末尾的/*匹配任意层级 -->
 	<init-param>
 		<param-name>exclusions</param-name>
 		<param-value>*.js,*.gif,*.jpg,*.png,*.css,*.ico</param-value>
 	</init-param>
-	<!-- 拒绝的IP列表,不匹配或者为值空代表关闭 -->
+	<!-- 拒绝的IP列表,不匹配或者为值空代表关闭，支持地址、CIDR（10.0.0.0/8、2001:db8::/32）、范围（192.168.1.10-192.168.1.20）和通配符（192.168.*.*） -->
 	<init-param>
 		<param-name>rejectIps</param-name>
-		<param-value>192.168.2.91,127.0.0.2</param-value>
+		<param-value>192.168.2.91,127.0.0.2,10.0.0.0/8</param-value>
 	</init-param>
-	<!-- 允许的IP列表,不匹配或者为值空代表关闭 -->
+	<!-- 允许的IP列表,不匹配或者为值空代表关闭，规则同rejectIps -->
 	<init-param>
 		<param-name>allowIps</param-name>
 		<param-value>*.*.*.*</param-value>
@@ -220,5 +343,76 @@ public class VisitFilter implements Filter {
 		<param-name>maxVisit</param-name>
 		<param-value>50</param-value>
 	</init-param>
+	<!-- 限流算法：fixedWindow（默认，固定窗口）、slidingWindow（滑动窗口）、tokenBucket（令牌桶）、leakyBucket（漏桶，桶已满时拒绝）、
+	     redis（集群固定窗口，所有实例共享IP每秒的访问次数，需要spring-data-redis） -->
+	<init-param>
+		<param-name>limiter</param-name>
+		<param-value>fixedWindow</param-value>
+	</init-param>
+	<!-- 令牌桶的容量或者漏桶的队列长度，默认等于maxVisit，窗口算法忽略该值 -->
+	<init-param>
+		<param-name>burst</param-name>
+		<param-value>50</param-value>
+	</init-param>
+	<!-- 漏桶中的请求在请求线程中最多等待的时间（毫秒），按速率匀速放行，需要等待更久的请求被拒绝，默认0不等待；等待会占用容器线程，应尽量小 -->
+	<init-param>
+		<param-name>leakyBucketMaxWait</param-name>
+		<param-value>0</param-value>
+	</init-param>
+	<!-- 集群限流和rulesRedisKey使用的RedisTemplate<String, Object>在spring中的名称，默认redisTemplate，需要注册SpringContextUtil -->
+	<init-param>
+		<param-name>redisTemplate</param-name>
+		<param-value>redisTemplate</param-value>
+	</init-param>
+	<!-- 集群限流的Redis key前缀，默认visit:limit:，每秒一个hash -->
+	<init-param>
+		<param-name>redisKeyPrefix</param-name>
+		<param-value>visit:limit:</param-value>
+	</init-param>
+	<!-- 集群限流把本地访问次数同步到Redis的间隔（毫秒），默认5，间隔越大Redis的压力越小，集群次数的延迟越大 -->
+	<init-param>
+		<param-name>redisFlushInterval</param-name>
+		<param-value>5</param-value>
+	</init-param>
+	<!-- 访问日志最多记录的IP个数，超过时淘汰最久未访问的IP，默认100000 -->
+	<init-param>
+		<param-name>visitLogSize</param-name>
+		<param-value>100000</param-value>
+	</init-param>
+	<!-- 访问日志中IP的空闲时间（秒），超过该时间没有访问的IP会被移除，默认60 -->
+	<init-param>
+		<param-name>visitLogExpire</param-name>
+		<param-value>60</param-value>
+	</init-param>
+	<!-- 规则文件（properties格式，UTF-8），可以配置rejectIps、allowIps、maxVisit、burst，覆盖上面的同名参数，修改后无需重启 -->
+	<init-param>
+		<param-name>rulesFile</param-name>
+		<param-value>/etc/app/visit-rules.properties</param-value>
+	</init-param>
+	<!-- 保存规则的Redis hash的key，字段同rulesFile，覆盖文件中的同名配置，使用redisTemplate参数指定的RedisTemplate -->
+	<init-param>
+		<param-name>rulesRedisKey</param-name>
+		<param-value>visit:rules</param-value>
+	</init-param>
+	<!-- 检查规则变化的间隔（秒），默认10，maxVisit或burst变化时重置所有IP的访问次数 -->
+	<init-param>
+		<param-name>rulesReloadInterval</param-name>
+		<param-value>10</param-value>
+	</init-param>
+	<!-- 是否把统计注册为JMX MBean（cn.pings.commons.filter:type=VisitFilter,name=过滤器名称），默认true -->
+	<init-param>
+		<param-name>metricsJmx</param-name>
+		<param-value>true</param-value>
+	</init-param>
+	<!-- 统计中记录的被拒绝次数最多的IP个数，默认20 -->
+	<init-param>
+		<param-name>topOffenders</param-name>
+		<param-value>20</param-value>
+	</init-param>
+	<!-- 禁止访问、超过最大访问次数、超过一半这三类日志每秒最多记录的条数，超出的只计数，<=0时不限制，默认10 -->
+	<init-param>
+		<param-name>logPerSecond</param-name>
+		<param-value>10</param-value>
+	</init-param>
 </filter>
 */
\ No newline at end of file
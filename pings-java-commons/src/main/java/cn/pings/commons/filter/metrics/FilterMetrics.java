@@ -0,0 +1,257 @@
+package cn.pings.commons.filter.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *********************************************************
+ ** @desc  ：  过滤器的统计：请求数、过滤器自身的耗时和次数最多的IP
+ **            1.计数使用LongAdder，耗时使用LatencyHistogram，记录时不加锁
+ **            2.可以通过snapshot()导出，或者register()注册为JMX MBean
+ **            3.创建后即可通过FilterMetrics.get(名称)获取，与是否注册JMX无关，unregister后移除
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 创建时加入FilterMetrics.get的查找表，不再依赖register  Pings 2026-10-17
+ * *******************************************************
+ */
+public class FilterMetrics implements FilterMetricsMBean {
+
+    private static final Logger log = LoggerFactory.getLogger(FilterMetrics.class);
+    //**JMX的domain
+    private static final String DOMAIN = "cn.pings.commons.filter";
+    //**已创建且未取消注册的统计
+    private static final Map<String, FilterMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder excluded = new LongAdder();
+    private final LongAdder sanitized = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final TopOffenders offenders;
+    //**注册的MBean名称，未注册时为null
+    private volatile ObjectName objectName;
+
+    /**
+     *********************************************************
+     ** @desc ：  创建统计，同名的统计被替换
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  name         名称，一般为过滤器名称
+     ** @param  topOffenders 记录次数最多的IP的个数
+     * *******************************************************
+     */
+    public FilterMetrics(String name, int topOffenders) {
+        this.name = name;
+        this.offenders = new TopOffenders(topOffenders);
+        REGISTRY.put(name, this);
+    }
+
+    /**获取统计，不存在时返回null*/
+    public static FilterMetrics get(String name) {
+        return REGISTRY.get(name);
+    }
+
+    /**全部统计*/
+    public static Collection<FilterMetrics> all() {
+        return Collections.unmodifiableCollection(REGISTRY.values());
+    }
+
+    public void allowed() {
+        this.allowed.increment();
+    }
+
+    /**因IP列表拒绝，ip计入次数最多的IP*/
+    public void rejected(String ip) {
+        this.rejected.increment();
+        this.offenders.add(ip);
+    }
+
+    /**因访问次数超限拒绝，ip计入次数最多的IP*/
+    public void throttled(String ip) {
+        this.throttled.increment();
+        this.offenders.add(ip);
+    }
+
+    public void excluded() {
+        this.excluded.increment();
+    }
+
+    /**删除了关键字，ip计入次数最多的IP*/
+    public void sanitized(String ip) {
+        this.sanitized.increment();
+        this.offenders.add(ip);
+    }
+
+    /**记录过滤器自身的耗时（纳秒）*/
+    public void latency(long nanos) {
+        this.latency.record(nanos);
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  注册为JMX MBean，名称为cn.pings.commons.filter:type=类型,name=名称；
+     **           同名的MBean已存在时只记录警告，不影响过滤器
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  type   类型，一般为过滤器的类名
+     ** @return 是否注册成功
+     * *******************************************************
+     */
+    public boolean register(String type) {
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + quote(type) + ",name=" + quote(this.name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to register filter metrics " + this.name + " to JMX: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**从FilterMetrics.get的查找表中移除，已注册JMX时取消注册*/
+    public void unregister() {
+        REGISTRY.remove(this.name, this);
+
+        ObjectName objectName = this.objectName;
+        if (objectName == null)
+            return;
+        this.objectName = null;
+
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName))
+                server.unregisterMBean(objectName);
+        } catch (Exception e) {
+            log.warn("Failed to unregister filter metrics " + this.name + " from JMX: " + e.getMessage());
+        }
+    }
+
+    //**含有ObjectName的特殊字符时才加引号
+    private static String quote(String value) {
+        for (char c : ",=:\"*?\n".toCharArray()) {
+            if (value.indexOf(c) >= 0)
+                return ObjectName.quote(value);
+        }
+        return value;
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  导出当前的统计，可以序列化为JSON等格式
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @return 名称、各请求数、耗时（纳秒）的分位数和次数最多的IP（ip -> 次数）
+     * *******************************************************
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("count", this.latency.getCount());
+        latency.put("mean", this.latency.getMean());
+        latency.put("p50", this.latency.getPercentile(50));
+        latency.put("p99", this.latency.getPercentile(99));
+        latency.put("p999", this.latency.getPercentile(99.9));
+        latency.put("max", this.latency.getMax());
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("name", this.name);
+        snapshot.put("allowed", this.allowed.sum());
+        snapshot.put("rejected", this.rejected.sum());
+        snapshot.put("throttled", this.throttled.sum());
+        snapshot.put("excluded", this.excluded.sum());
+        snapshot.put("sanitized", this.sanitized.sum());
+        snapshot.put("latency", Collections.unmodifiableMap(latency));
+        snapshot.put("topOffenders", Collections.unmodifiableMap(this.offenders.top()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public long getAllowed() {
+        return this.allowed.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public long getThrottled() {
+        return this.throttled.sum();
+    }
+
+    @Override
+    public long getExcluded() {
+        return this.excluded.sum();
+    }
+
+    @Override
+    public long getSanitized() {
+        return this.sanitized.sum();
+    }
+
+    @Override
+    public long getLatencyCount() {
+        return this.latency.getCount();
+    }
+
+    @Override
+    public long getLatencyMean() {
+        return this.latency.getMean();
+    }
+
+    @Override
+    public long getLatencyP50() {
+        return this.latency.getPercentile(50);
+    }
+
+    @Override
+    public long getLatencyP99() {
+        return this.latency.getPercentile(99);
+    }
+
+    @Override
+    public long getLatencyP999() {
+        return this.latency.getPercentile(99.9);
+    }
+
+    @Override
+    public long getLatencyMax() {
+        return this.latency.getMax();
+    }
+
+    @Override
+    public String[] getTopOffenders() {
+        return this.offenders.top().entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+    }
+
+    @Override
+    public void reset() {
+        this.allowed.reset();
+        this.rejected.reset();
+        this.throttled.reset();
+        this.excluded.reset();
+        this.sanitized.reset();
+        this.latency.reset();
+        this.offenders.reset();
+    }
+}
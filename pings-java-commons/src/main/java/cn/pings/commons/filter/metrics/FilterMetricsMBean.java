@@ -0,0 +1,49 @@
+package cn.pings.commons.filter.metrics;
+
+/**
+ *********************************************************
+ ** @desc  ：  过滤器统计的JMX接口，耗时的单位为纳秒
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public interface FilterMetricsMBean {
+
+    /**过滤器名称*/
+    String getName();
+
+    /**放行的请求数*/
+    long getAllowed();
+
+    /**因IP列表拒绝的请求数*/
+    long getRejected();
+
+    /**因访问次数超限拒绝的请求数*/
+    long getThrottled();
+
+    /**排除的请求数*/
+    long getExcluded();
+
+    /**删除了关键字的参数或请求体个数*/
+    long getSanitized();
+
+    /**耗时的记录次数*/
+    long getLatencyCount();
+
+    long getLatencyMean();
+
+    long getLatencyP50();
+
+    long getLatencyP99();
+
+    long getLatencyP999();
+
+    long getLatencyMax();
+
+    /**次数最多的IP，格式为ip=次数，按次数从大到小排列*/
+    String[] getTopOffenders();
+
+    /**清空统计*/
+    void reset();
+}
@@ -0,0 +1,121 @@
+package cn.pings.commons.filter.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *********************************************************
+ ** @desc  ：  耗时直方图（纳秒），按2的幂分段，每段再均分为8个桶，相对误差不超过12.5%
+ **            每个桶是一个LongAdder，多线程记录时不竞争同一个变量；读取的分位数是近似值
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 最大值改为LongAccumulator，并发记录时不会被较小的值覆盖  Pings 2026-10-17
+ * *******************************************************
+ */
+public class LatencyHistogram {
+
+    //**每段的桶数为2^SUB_BITS
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    //**小于该值的耗时每纳秒一个桶
+    private static final int LINEAR = SUB_BUCKETS * 2;
+    private static final int BUCKETS = LINEAR + (63 - (SUB_BITS + 1)) * SUB_BUCKETS;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    //**不超过当前最大值时只读不写
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++)
+            buckets[i] = new LongAdder();
+    }
+
+    /**记录一次耗时（纳秒），负数按0记录*/
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+
+        buckets[index(nanos)].increment();
+        count.increment();
+        sum.add(nanos);
+        max.accumulate(nanos);
+    }
+
+    /**记录的次数*/
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**平均耗时（纳秒）*/
+    public long getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : sum.sum() / n;
+    }
+
+    /**最大耗时（纳秒）*/
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  分位数对应的耗时（纳秒），取所在桶的中间值
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  percentile   分位数，0~100，如99.9
+     ** @return 耗时，没有记录时为0
+     * *******************************************************
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0)
+            return 0;
+
+        long rank = (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100 * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(1, rank))
+                return Math.min(middle(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**清空记录*/
+    public void reset() {
+        for (LongAdder bucket : buckets)
+            bucket.reset();
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    private static int index(long value) {
+        if (value < LINEAR)
+            return (int) value;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - SUB_BITS - 1) * SUB_BUCKETS + sub;
+    }
+
+    //**桶的中间值
+    private static long middle(int index) {
+        if (index < LINEAR)
+            return index;
+
+        int exponent = (index - LINEAR) / SUB_BUCKETS + SUB_BITS + 1;
+        int sub = (index - LINEAR) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        return (SUB_BUCKETS + sub) * width + width / 2;
+    }
+}
@@ -0,0 +1,63 @@
+package cn.pings.commons.filter.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *********************************************************
+ ** @desc  ：  日志限流，每秒最多允许指定条数的日志，超出的日志只计数，
+ **            下一条允许的日志可以带上被省略的条数；大量请求被拒绝时避免日志成为瓶颈
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class LogThrottle {
+
+    //**当前秒（高32位）和已允许的条数（低32位）
+    private final AtomicLong window = new AtomicLong();
+    private final LongAdder suppressed = new LongAdder();
+    private final int perSecond;
+
+    /**
+     *********************************************************
+     ** @desc ：  创建日志限流
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  perSecond   每秒最多允许的条数，小于等于0时不限制
+     * *******************************************************
+     */
+    public LogThrottle(int perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  申请记录一条日志
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @return 小于0表示不记录；否则表示允许记录，值为上次允许之后被省略的条数
+     * *******************************************************
+     */
+    public long tryAcquire() {
+        if (perSecond <= 0)
+            return 0;
+
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long current = window.get();
+            long count = current >>> 32 == (second & 0xFFFFFFFFL) ? current & 0xFFFFFFFFL : 0;
+            if (count >= perSecond) {
+                suppressed.increment();
+                return -1;
+            }
+            if (window.compareAndSet(current, (second << 32) | (count + 1)))
+                return suppressed.sumThenReset();
+        }
+    }
+
+    /**附加在日志末尾的省略条数，没有省略时为空字符串*/
+    public static String note(long suppressed) {
+        return suppressed > 0 ? "（省略" + suppressed + "条）" : "";
+    }
+}
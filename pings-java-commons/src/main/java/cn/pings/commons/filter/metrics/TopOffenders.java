@@ -0,0 +1,150 @@
+package cn.pings.commons.filter.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ *********************************************************
+ ** @desc  ：  次数最多的key（如被拒绝的IP），使用Space-Saving算法，只保存固定个数的key
+ **            1.key已存在时加1；未满时添加；已满时替换次数最少的key，并继承其次数
+ **            2.次数是上界，误差不超过被替换的key的次数，次数远大于平均值的key一定会保留
+ **            3.按key的hash分为多个分段，同一个key总在同一个分段，合并后仍是Space-Saving结果
+ **            4.已有的key无锁计数（LongAdder）；只有添加和替换key时加锁，锁被占用时放弃本次计数，
+ **              大量不同key同时到达时相当于抽样，请求线程不会在锁上排队
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 已有的key无锁计数，添加和替换key时使用tryLock，不再每次访问都加锁  Pings 2026-10-17
+ * *******************************************************
+ */
+public class TopOffenders {
+
+    private static final int STRIPES = 8;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final int size;
+
+    /**
+     *********************************************************
+     ** @desc ：  创建
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  size   返回的key的个数，每个分段保存size个key
+     * *******************************************************
+     */
+    public TopOffenders(int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("The size must be a positive integer");
+
+        this.size = size;
+        for (int i = 0; i < STRIPES; i++)
+            stripes[i] = new Stripe(size);
+    }
+
+    /**key的次数加1*/
+    public void add(String key) {
+        if (key == null)
+            return;
+
+        int h = key.hashCode();
+        stripes[(h ^ h >>> 16) & (STRIPES - 1)].add(key);
+    }
+
+    /**按次数从大到小返回最多size个key和次数*/
+    public Map<String, Long> top() {
+        List<Map.Entry<String, Long>> all = new ArrayList<>();
+        for (Stripe stripe : stripes)
+            all.addAll(stripe.snapshot().entrySet());
+        all.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (int i = 0; i < all.size() && i < size; i++)
+            top.put(all.get(i).getKey(), all.get(i).getValue());
+        return top;
+    }
+
+    /**清空*/
+    public void reset() {
+        for (Stripe stripe : stripes)
+            stripe.reset();
+    }
+
+    //**一个分段，key的个数很少，找最小值时直接遍历
+    private static final class Stripe {
+        private final int capacity;
+        private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+        //**添加和替换key时的锁
+        private final ReentrantLock lock = new ReentrantLock();
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(String key) {
+            LongAdder count = counts.get(key);
+            if (count != null) {
+                count.increment();
+                return;
+            }
+
+            //**其它线程正在添加或替换key时放弃本次计数
+            if (!lock.tryLock())
+                return;
+            try {
+                count = counts.get(key);
+                if (count != null) {
+                    count.increment();
+                } else if (counts.size() < capacity) {
+                    count = new LongAdder();
+                    count.increment();
+                    counts.put(key, count);
+                } else {
+                    this.replaceMin(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        //**替换次数最少的key，新key继承其次数；替换期间对旧key的计数会丢失
+        private void replaceMin(String key) {
+            String minKey = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<String, LongAdder> e : counts.entrySet()) {
+                long sum = e.getValue().sum();
+                if (sum < min) {
+                    minKey = e.getKey();
+                    min = sum;
+                }
+            }
+
+            LongAdder count = new LongAdder();
+            count.add(min + 1);
+            counts.remove(minKey);
+            counts.put(key, count);
+        }
+
+        Map<String, Long> snapshot() {
+            Map<String, Long> snapshot = new HashMap<>();
+            for (Map.Entry<String, LongAdder> e : counts.entrySet())
+                snapshot.put(e.getKey(), e.getValue().sum());
+            return snapshot;
+        }
+
+        void reset() {
+            lock.lock();
+            try {
+                counts.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package cn.pings.commons.filter.param;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ *********************************************************
+ ** @desc  ：  按请求体的格式逐字节区分需要过滤的内容，不缓存请求体
+ **            1.JSON：只过滤字符串值，不修改键和结构字符
+ **            2.multipart/form-data：只过滤普通字段的值，不修改分隔符、头和文件内容
+ **            3.其它格式：过滤所有内容
+ **            只过滤格式内的原始文本，Unicode转义、URL编码等编码后的关键字不会被识别
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+abstract class BodyScanner {
+
+    //**接收区分后的字节
+    interface Sink {
+        //**需要过滤的字节
+        void sanitize(int b);
+        //**原样输出的字节
+        void pass(int b);
+    }
+
+    //**输入一个字节，b为0~255
+    abstract void accept(int b, Sink sink);
+
+    //**请求体结束，输出尚未确定的字节
+    void end(Sink sink) {
+    }
+
+    /**根据Content-Type创建，multipart缺少boundary时不过滤*/
+    static BodyScanner of(String contentType) {
+        String type = contentType == null ? "" : contentType.toLowerCase(Locale.ROOT);
+        if (type.contains("json"))
+            return new Json();
+        if (type.startsWith("multipart/")) {
+            String boundary = boundary(contentType);
+            return boundary == null ? new Pass() : new Multipart(boundary);
+        }
+        return new Plain();
+    }
+
+    //**Content-Type中的boundary参数
+    private static String boundary(String contentType) {
+        for (String param : contentType.split(";")) {
+            param = param.trim();
+            if (param.regionMatches(true, 0, "boundary=", 0, 9)) {
+                String boundary = param.substring(9).trim();
+                if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\""))
+                    boundary = boundary.substring(1, boundary.length() - 1);
+                return boundary.isEmpty() ? null : boundary;
+            }
+        }
+        return null;
+    }
+
+    //**不过滤
+    static final class Pass extends BodyScanner {
+        @Override
+        void accept(int b, Sink sink) {
+            sink.pass(b);
+        }
+    }
+
+    //**过滤所有内容
+    static final class Plain extends BodyScanner {
+        @Override
+        void accept(int b, Sink sink) {
+            sink.sanitize(b);
+        }
+    }
+
+    //**只过滤字符串值，用位栈记录每一层是对象还是数组
+    static final class Json extends BodyScanner {
+        private long[] objects = new long[1];
+        private int depth;
+        //**对象中下一个字符串是否为键
+        private boolean expectKey;
+        //**是否在字符串中，是否为键，上一个字符是否为转义符
+        private boolean inString, inKey, escaped;
+
+        @Override
+        void accept(int b, Sink sink) {
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    sink.pass(b);
+                    return;
+                }
+
+                if (inKey)
+                    sink.pass(b);
+                else
+                    sink.sanitize(b);
+                return;
+            }
+
+            switch (b) {
+                case '"':
+                    inString = true;
+                    inKey = expectKey && inObject();
+                    break;
+                case '{':
+                    push(true);
+                    expectKey = true;
+                    break;
+                case '[':
+                    push(false);
+                    expectKey = false;
+                    break;
+                case '}':
+                case ']':
+                    if (depth > 0)
+                        depth--;
+                    expectKey = false;
+                    break;
+                case ':':
+                    expectKey = false;
+                    break;
+                case ',':
+                    expectKey = inObject();
+                    break;
+                default:
+                    break;
+            }
+            sink.pass(b);
+        }
+
+        private boolean inObject() {
+            int level = depth - 1;
+            return level >= 0 && (objects[level >>> 6] & 1L << level) != 0;
+        }
+
+        private void push(boolean object) {
+            if (depth >>> 6 >= objects.length)
+                objects = Arrays.copyOf(objects, objects.length * 2);
+            if (object)
+                objects[depth >>> 6] |= 1L << depth;
+            else
+                objects[depth >>> 6] &= ~(1L << depth);
+            depth++;
+        }
+    }
+
+    //**按分隔符识别每个部分，只过滤没有filename的部分，分隔符用KMP匹配，已匹配的前缀就是暂不输出的字节
+    static final class Multipart extends BodyScanner {
+        private static final int PREAMBLE = 0, AFTER_DELIMITER = 1, HEADERS = 2, CONTENT = 3, EPILOGUE = 4;
+        //**头的一行最多保存的字节数
+        private static final int MAX_HEADER_LINE = 1024;
+
+        //**\r\n--boundary
+        private final byte[] delimiter;
+        private final int[] failure;
+        private int state = PREAMBLE;
+        //**已匹配的分隔符长度
+        private int matched;
+        //**请求体开始处虚拟的\r\n，使第一个分隔符也能匹配
+        private int virtual;
+        //**分隔符之后已读取的字节数和第一个字节
+        private int afterDelimiter, firstAfterDelimiter;
+        //**当前头的一行
+        private final byte[] line = new byte[MAX_HEADER_LINE];
+        private int lineLength;
+        //**当前部分是否为文件
+        private boolean file;
+
+        Multipart(String boundary) {
+            this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+            this.failure = new int[delimiter.length + 1];
+            for (int i = 1, k = 0; i < delimiter.length; i++) {
+                while (k > 0 && delimiter[i] != delimiter[k])
+                    k = failure[k];
+                if (delimiter[i] == delimiter[k])
+                    k++;
+                failure[i + 1] = k;
+            }
+            this.matched = 2;
+            this.virtual = 2;
+        }
+
+        @Override
+        void accept(int b, Sink sink) {
+            switch (state) {
+                case PREAMBLE:
+                case CONTENT:
+                    matchDelimiter(b, sink);
+                    break;
+                case AFTER_DELIMITER:
+                    sink.pass(b);
+                    if (++afterDelimiter == 1)
+                        firstAfterDelimiter = b;
+                    else if (afterDelimiter == 2 && firstAfterDelimiter == '-' && b == '-')
+                        state = EPILOGUE;
+                    if (state == AFTER_DELIMITER && b == '\n') {
+                        state = HEADERS;
+                        lineLength = 0;
+                        file = false;
+                    }
+                    break;
+                case HEADERS:
+                    sink.pass(b);
+                    if (b == '\n') {
+                        if (lineLength == 0 || lineLength == 1 && line[0] == '\r') {
+                            state = CONTENT;
+                        } else if (isFileHeader()) {
+                            file = true;
+                        }
+                        lineLength = 0;
+                    } else if (lineLength < MAX_HEADER_LINE) {
+                        line[lineLength++] = (byte) b;
+                    }
+                    break;
+                default:
+                    sink.pass(b);
+                    break;
+            }
+        }
+
+        @Override
+        void end(Sink sink) {
+            release(matched, sink);
+            matched = 0;
+        }
+
+        private void matchDelimiter(int b, Sink sink) {
+            int k = matched;
+            //**已匹配的前缀加上b之后，不再可能是分隔符一部分的字节
+            while (k > 0 && (delimiter[k] & 0xFF) != b)
+                k = failure[k];
+            if ((delimiter[k] & 0xFF) == b)
+                k++;
+
+            int released = matched + 1 - k;
+            for (int i = 0; i < released; i++)
+                content(i < matched ? delimiter[i] & 0xFF : b, sink);
+            matched = k;
+
+            if (matched == delimiter.length) {
+                for (int i = 0; i < delimiter.length; i++)
+                    output(delimiter[i] & 0xFF, sink, false);
+                matched = 0;
+                state = AFTER_DELIMITER;
+                afterDelimiter = 0;
+            }
+        }
+
+        //**输出暂不输出的前n个字节
+        private void release(int n, Sink sink) {
+            for (int i = 0; i < n; i++)
+                content(delimiter[i] & 0xFF, sink);
+        }
+
+        //**当前部分的内容，前言和文件原样输出
+        private void content(int b, Sink sink) {
+            output(b, sink, state == CONTENT && !file);
+        }
+
+        private void output(int b, Sink sink, boolean sanitize) {
+            //**虚拟的\r\n不输出
+            if (virtual > 0) {
+                virtual--;
+                return;
+            }
+            if (sanitize)
+                sink.sanitize(b);
+            else
+                sink.pass(b);
+        }
+
+        //**Content-Disposition中是否有filename
+        private boolean isFileHeader() {
+            String header = new String(line, 0, lineLength, StandardCharsets.ISO_8859_1).toLowerCase(Locale.ROOT);
+            return header.startsWith("content-disposition") && header.contains("filename");
+        }
+    }
+}
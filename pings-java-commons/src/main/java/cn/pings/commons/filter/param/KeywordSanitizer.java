@@ -0,0 +1,243 @@
+package cn.pings.commons.filter.param;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ *********************************************************
+ ** @desc  ：  敏感关键字过滤，关键字编译为Aho–Corasick自动机，一次扫描删除所有关键字，创建后不可变
+ **            1.自动机以UTF-8字节为输入，字符串和字节流（请求体）使用同一个自动机
+ **            2.ASCII字母不区分大小写
+ **            3.从左到右扫描，在关键字结束的位置删除以该位置结尾的最长关键字，之后从头开始匹配，
+ **              即删除的关键字互不重叠
+ **            字符串中没有关键字时不分配对象
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public final class KeywordSanitizer {
+
+    //**默认的关键字，与原来的正则表达式相同
+    public static final String DEFAULT_KEYWORDS = "update |delete |insert |truncate |execute |script";
+
+    //**每个字节所属的字符类，不出现在关键字中的字节为0
+    private final int[] byteClasses = new int[256];
+    //**字符类的个数
+    private final int classes;
+    //**状态转移表：transitions[state * classes + class]
+    private final int[] transitions;
+    //**以该状态结尾的最长关键字的字节数和字符数，没有时为0
+    private final int[] matchBytes;
+    private final int[] matchChars;
+    //**状态对应的字节数，即可能成为关键字一部分的字节数
+    private final int[] depths;
+    //**最长关键字的字节数
+    private final int maxBytes;
+
+    private KeywordSanitizer(List<byte[]> keywords, List<Integer> keywordChars) {
+        //**字符类，大写字母与小写字母相同
+        int classCount = 1;
+        for (byte[] keyword : keywords) {
+            for (byte b : keyword) {
+                int i = b & 0xFF;
+                if (byteClasses[i] == 0) {
+                    byteClasses[i] = classCount++;
+                    if (i >= 'a' && i <= 'z')
+                        byteClasses[i - 'a' + 'A'] = byteClasses[i];
+                }
+            }
+        }
+        this.classes = classCount;
+
+        //**前缀树
+        int maxStates = 1;
+        int longest = 0;
+        for (byte[] keyword : keywords) {
+            maxStates += keyword.length;
+            longest = Math.max(longest, keyword.length);
+        }
+        this.maxBytes = longest;
+
+        int[] trie = new int[maxStates * classes];
+        int[] bytes = new int[maxStates];
+        int[] chars = new int[maxStates];
+        int[] depth = new int[maxStates];
+        int states = 1;
+        for (int k = 0; k < keywords.size(); k++) {
+            int state = 0;
+            for (byte b : keywords.get(k)) {
+                int index = state * classes + byteClasses[b & 0xFF];
+                if (trie[index] == 0) {
+                    depth[states] = depth[state] + 1;
+                    trie[index] = states++;
+                }
+                state = trie[index];
+            }
+            bytes[state] = keywords.get(k).length;
+            chars[state] = keywordChars.get(k);
+        }
+
+        //**按广度优先计算失败链接，补全为确定的状态转移表，并继承失败状态的关键字
+        int[] fail = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 1; c < classes; c++) {
+            if (trie[c] != 0)
+                queue.add(trie[c]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            if (bytes[state] == 0) {
+                bytes[state] = bytes[fail[state]];
+                chars[state] = chars[fail[state]];
+            }
+            for (int c = 1; c < classes; c++) {
+                int index = state * classes + c;
+                int next = trie[index];
+                if (next != 0) {
+                    fail[next] = trie[fail[state] * classes + c];
+                    queue.add(next);
+                } else {
+                    trie[index] = trie[fail[state] * classes + c];
+                }
+            }
+        }
+
+        this.transitions = Arrays.copyOf(trie, states * classes);
+        this.matchBytes = Arrays.copyOf(bytes, states);
+        this.matchChars = Arrays.copyOf(chars, states);
+        this.depths = Arrays.copyOf(depth, states);
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  编译关键字
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  keywords   关键字，忽略空的关键字，不去除空格
+     ** @return 关键字过滤
+     * *******************************************************
+     */
+    public static KeywordSanitizer compile(Collection<String> keywords) {
+        List<byte[]> bytes = new ArrayList<>();
+        List<Integer> chars = new ArrayList<>();
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isEmpty())
+                continue;
+
+            //**只转换ASCII字母，与按字节匹配时的大小写规则一致
+            StringBuilder lower = new StringBuilder(keyword.length());
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                lower.append(c >= 'A' && c <= 'Z' ? (char) (c - 'A' + 'a') : c);
+            }
+            bytes.add(lower.toString().getBytes(StandardCharsets.UTF_8));
+            chars.add(keyword.length());
+        }
+        return new KeywordSanitizer(bytes, chars);
+    }
+
+    /**编译以|分隔的关键字，如DEFAULT_KEYWORDS*/
+    public static KeywordSanitizer compile(String keywords) {
+        return compile(Arrays.asList(keywords.split("\\|")));
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  删除字符串中的关键字
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  value   字符串
+     ** @return 删除关键字后的字符串，没有关键字时返回value本身
+     * *******************************************************
+     */
+    public String sanitize(String value) {
+        if (value == null || maxBytes == 0)
+            return value;
+
+        StringBuilder result = null;
+        int copied = 0;
+        int state = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            //**按UTF-8编码逐字节输入
+            if (c < 0x80) {
+                state = next(state, c);
+            } else if (c < 0x800) {
+                state = next(next(state, 0xC0 | c >> 6), 0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                state = next(next(next(next(state, 0xF0 | cp >> 18), 0x80 | cp >> 12 & 0x3F), 0x80 | cp >> 6 & 0x3F), 0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                //**单独的代理字符编码为?
+                state = next(state, '?');
+            } else {
+                state = next(next(next(state, 0xE0 | c >> 12), 0x80 | c >> 6 & 0x3F), 0x80 | c & 0x3F);
+            }
+
+            if (matchBytes[state] != 0) {
+                if (result == null)
+                    result = new StringBuilder(value.length());
+                int start = i + 1 - matchChars[state];
+                result.append(value, copied, start);
+                copied = i + 1;
+                state = 0;
+            }
+        }
+
+        if (result == null)
+            return value;
+        return result.append(value, copied, value.length()).toString();
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  删除数组中每个字符串的关键字
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  values   字符串数组
+     ** @return 删除关键字后的数组，都没有关键字时返回values本身，否则返回新的数组
+     * *******************************************************
+     */
+    public String[] sanitize(String[] values) {
+        if (values == null)
+            return null;
+
+        String[] result = values;
+        for (int i = 0; i < values.length; i++) {
+            String sanitized = sanitize(values[i]);
+            if (sanitized != values[i]) {
+                if (result == values)
+                    result = values.clone();
+                result[i] = sanitized;
+            }
+        }
+        return result;
+    }
+
+    //**状态转移，b为0~255的字节
+    int next(int state, int b) {
+        return transitions[state * classes + byteClasses[b]];
+    }
+
+    //**以该状态结尾的最长关键字的字节数，没有时为0
+    int matchBytes(int state) {
+        return matchBytes[state];
+    }
+
+    //**状态对应的字节数
+    int depth(int state) {
+        return depths[state];
+    }
+
+    //**最长关键字的字节数
+    int maxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,184 @@
+package cn.pings.commons.filter.param;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ *********************************************************
+ ** @desc  ：  边读取边删除请求体中的关键字，不缓存请求体，内存占用与请求体大小无关
+ **            1.每次从原请求读取一块（8K），由BodyScanner区分需要过滤的字节，再用KeywordSanitizer的自动机扫描
+ **            2.可能是关键字开头的字节暂不输出，最多为最长关键字的字节数
+ **            3.按UTF-8或者兼容ASCII的编码匹配关键字
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class SanitizingInputStream extends ServletInputStream {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final ServletInputStream in;
+    private final KeywordSanitizer sanitizer;
+    private final BodyScanner scanner;
+    //**第一次删除关键字时的回调，如记录日志
+    private final Runnable onSanitized;
+
+    private final byte[] input = new byte[CHUNK_SIZE];
+    //**已过滤、等待读取的字节
+    private byte[] output = new byte[CHUNK_SIZE * 2];
+    private int outputPosition, outputLength;
+    //**自动机的状态和对应的暂不输出的字节（环形缓冲）
+    private int state;
+    private final byte[] pending;
+    private int pendingStart, pendingLength;
+    private boolean sanitized, finished;
+
+    private final BodyScanner.Sink sink = new BodyScanner.Sink() {
+        @Override
+        public void sanitize(int b) {
+            SanitizingInputStream.this.sanitize(b);
+        }
+
+        @Override
+        public void pass(int b) {
+            SanitizingInputStream.this.pass(b);
+        }
+    };
+
+    /**
+     *********************************************************
+     ** @desc ：  创建过滤请求体的输入流
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  in            原请求的输入流
+     ** @param  sanitizer     关键字
+     ** @param  contentType   请求的Content-Type，决定过滤请求体的哪些部分
+     ** @param  onSanitized   第一次删除关键字时的回调，可以为null
+     * *******************************************************
+     */
+    public SanitizingInputStream(ServletInputStream in, KeywordSanitizer sanitizer, String contentType, Runnable onSanitized) {
+        this.in = in;
+        this.sanitizer = sanitizer;
+        this.scanner = BodyScanner.of(contentType);
+        this.onSanitized = onSanitized;
+        this.pending = new byte[sanitizer.maxBytes() + 1];
+    }
+
+    /**是否删除过关键字*/
+    public boolean isSanitized() {
+        return sanitized;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill())
+            return -1;
+        return output[outputPosition++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0)
+            return 0;
+        if (!fill())
+            return -1;
+
+        int n = Math.min(len, outputLength - outputPosition);
+        System.arraycopy(output, outputPosition, b, off, n);
+        outputPosition += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return outputLength - outputPosition;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished && outputPosition == outputLength;
+    }
+
+    @Override
+    public boolean isReady() {
+        return outputPosition < outputLength || in.isReady();
+    }
+
+    @Override
+    public void setReadListener(ReadListener listener) {
+        in.setReadListener(listener);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    //**需要过滤的字节
+    private void sanitize(int b) {
+        int next = sanitizer.next(state, b);
+        pending[(pendingStart + pendingLength++) % pending.length] = (byte) b;
+
+        //**不再可能是关键字一部分的字节
+        emitPending(pendingLength - sanitizer.depth(next));
+
+        int match = sanitizer.matchBytes(next);
+        if (match > 0) {
+            pendingLength -= match;
+            emitPending(pendingLength);
+            next = 0;
+
+            if (!sanitized) {
+                sanitized = true;
+                if (onSanitized != null)
+                    onSanitized.run();
+            }
+        }
+        state = next;
+    }
+
+    //**原样输出的字节，之前暂不输出的字节不会再成为关键字的一部分
+    private void pass(int b) {
+        emitPending(pendingLength);
+        state = 0;
+        emit(b);
+    }
+
+    //**读取并过滤一块，直到有可读的字节或者请求体结束
+    private boolean fill() throws IOException {
+        while (outputPosition == outputLength) {
+            if (finished)
+                return false;
+
+            outputPosition = outputLength = 0;
+            int n = in.read(input, 0, input.length);
+            if (n < 0) {
+                scanner.end(sink);
+                emitPending(pendingLength);
+                state = 0;
+                finished = true;
+            } else {
+                for (int i = 0; i < n; i++)
+                    scanner.accept(input[i] & 0xFF, sink);
+            }
+        }
+        return true;
+    }
+
+    private void emitPending(int n) {
+        for (int i = 0; i < n; i++) {
+            emit(pending[pendingStart]);
+            pendingStart = (pendingStart + 1) % pending.length;
+        }
+        pendingLength -= n;
+    }
+
+    private void emit(int b) {
+        if (outputLength == output.length)
+            output = Arrays.copyOf(output, output.length * 2);
+        output[outputLength++] = (byte) b;
+    }
+}
@@ -0,0 +1,57 @@
+package cn.pings.commons.filter.visit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *********************************************************
+ ** @desc  ：  固定窗口限流，状态的高32位为当前秒（epoch second），低32位为该秒的访问次数；
+ **            与原来的实现一致，被拒绝的访问同样计数
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class FixedWindowRateLimiter implements RateLimiter {
+
+    //**次数占用低32位
+    private static final long COUNT_MASK = 0xFFFFFFFFL;
+    //**次数的上限，达到后不再增加
+    private static final long MAX_COUNT = Integer.MAX_VALUE;
+
+    //**每秒允许的次数
+    private final int rate;
+
+    public FixedWindowRateLimiter(int rate) {
+        if (rate <= 0)
+            throw new IllegalArgumentException("The rate must be a positive integer");
+        this.rate = rate;
+    }
+
+    @Override
+    public long getLimit() {
+        return rate;
+    }
+
+    @Override
+    public AtomicLong newState() {
+        return new AtomicLong(pack(System.currentTimeMillis() / 1000, 0));
+    }
+
+    @Override
+    public long acquire(String key, AtomicLong state) {
+        while (true) {
+            //**先读取状态再读取时间，避免持有旧时间的线程把状态改回之前的窗口
+            long current = state.get();
+            long second = System.currentTimeMillis() / 1000;
+            long count = current & COUNT_MASK;
+            //**同一秒内次数加1，进入新的一秒时重新从1开始
+            long next = (current >>> 32) >= second ? (count == MAX_COUNT ? current : current + 1) : pack(second, 1);
+            if (next == current || state.compareAndSet(current, next))
+                return next & COUNT_MASK;
+        }
+    }
+
+    private static long pack(long second, long count) {
+        return second << 32 | count & COUNT_MASK;
+    }
+}
@@ -0,0 +1,99 @@
+package cn.pings.commons.filter.visit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ *********************************************************
+ ** @desc  ：  漏桶限流，请求按每秒rate个的速率流出：状态为下一个请求的流出时间（System.nanoTime），
+ **            每个请求占用一个间隔，桶中最多burst个请求，桶已满时拒绝
+ **            1.默认不等待（监管）：未满的请求直接通过，不占用请求线程
+ **            2.设置maxWait时整形：请求在请求线程中等待到其流出时间，需要等待的时间超过maxWait时拒绝，
+ **              不占用桶的容量；等待会占用容器线程，maxWait应尽量小
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.2
+ **
+ ** V1.1 默认不在请求线程中等待，等待时间由maxWait限制  Pings 2026-10-17
+ ** V1.2 整形时需要等待的时间超过maxWait的请求直接拒绝，不再提前通过  Pings 2026-10-17
+ * *******************************************************
+ */
+public class LeakyBucketRateLimiter implements RateLimiter {
+
+    //**每个请求的间隔（纳秒）
+    private final long interval;
+    //**队列长度
+    private final int burst;
+    //**桶的容量对应的纳秒数
+    private final long capacity;
+    //**请求线程最长等待的纳秒数，0表示不等待
+    private final long maxWait;
+
+    /**创建不等待的漏桶*/
+    public LeakyBucketRateLimiter(int rate, int burst) {
+        this(rate, burst, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  创建漏桶
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  rate      每秒流出的请求数
+     ** @param  burst     桶的容量
+     ** @param  maxWait   请求线程最长等待的时间，0表示不等待
+     ** @param  unit      等待时间的单位
+     * *******************************************************
+     */
+    public LeakyBucketRateLimiter(int rate, int burst, long maxWait, TimeUnit unit) {
+        if (rate <= 0)
+            throw new IllegalArgumentException("The rate must be a positive integer");
+        if (burst <= 0)
+            throw new IllegalArgumentException("The burst must be a positive integer");
+        if (maxWait < 0)
+            throw new IllegalArgumentException("The max wait must not be negative");
+
+        this.interval = Math.max(1, TimeUnit.SECONDS.toNanos(1) / rate);
+        this.burst = burst;
+        this.capacity = interval * burst;
+        this.maxWait = unit.toNanos(maxWait);
+    }
+
+    @Override
+    public long getLimit() {
+        return burst;
+    }
+
+    @Override
+    public AtomicLong newState() {
+        return new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public long acquire(String key, AtomicLong state) {
+        long now = System.nanoTime();
+        long departure;
+        while (true) {
+            long current = state.get();
+            //**本次请求通过的时间
+            departure = current - now < 0 ? now : current;
+            //**桶已满，或者整形时需要等待的时间超过maxWait，不占用间隔
+            if (departure - now >= capacity || maxWait > 0 && departure - now > maxWait)
+                return burst + 1;
+
+            if (state.compareAndSet(current, departure + interval))
+                break;
+        }
+
+        //**整形时等待到流出时间，不超过maxWait，被中断时直接通过
+        if (maxWait > 0) {
+            long wait;
+            while ((wait = departure - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted())
+                LockSupport.parkNanos(wait);
+        }
+
+        //**桶中的请求数，包括本次请求
+        return (departure - now) / interval + 1;
+    }
+}
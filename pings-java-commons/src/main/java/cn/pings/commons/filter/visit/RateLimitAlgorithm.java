@@ -0,0 +1,63 @@
+package cn.pings.commons.filter.visit;
+
+/**
+ *********************************************************
+ ** @desc  ：  限流算法的类型
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public enum RateLimitAlgorithm {
+
+    //**固定窗口：每秒最多rate次，跨越秒的边界时最多可以连续通过2 * rate次
+    FIXED_WINDOW {
+        @Override
+        public RateLimiter create(int rate, int burst) {
+            return new FixedWindowRateLimiter(rate);
+        }
+    },
+    //**滑动窗口计数：按上一秒的次数和当前秒已经过的比例估算最近一秒的次数，最多rate次
+    SLIDING_WINDOW {
+        @Override
+        public RateLimiter create(int rate, int burst) {
+            return new SlidingWindowRateLimiter(rate);
+        }
+    },
+    //**令牌桶：每秒补充rate个令牌，最多积累burst个，允许突发
+    TOKEN_BUCKET {
+        @Override
+        public RateLimiter create(int rate, int burst) {
+            return new TokenBucketRateLimiter(rate, burst);
+        }
+    },
+    //**漏桶：请求按每秒rate个的速率流出，桶中最多burst个请求，桶已满时拒绝，不在请求线程中等待
+    LEAKY_BUCKET {
+        @Override
+        public RateLimiter create(int rate, int burst) {
+            return new LeakyBucketRateLimiter(rate, burst);
+        }
+    };
+
+    /**
+     *********************************************************
+     ** @desc ：  创建限流算法
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  rate    每秒允许的次数
+     ** @param  burst   令牌桶的容量或者漏桶的队列长度，窗口算法忽略该值
+     ** @return 限流算法
+     * *******************************************************
+     */
+    public abstract RateLimiter create(int rate, int burst);
+
+    /**按名称获取限流算法，忽略大小写、'-'和'_'，如fixedWindow、token-bucket、LEAKY_BUCKET*/
+    public static RateLimitAlgorithm of(String name) {
+        String normalized = name.trim().replace("-", "").replace("_", "");
+        for (RateLimitAlgorithm algorithm : values()) {
+            if (algorithm.name().replace("_", "").equalsIgnoreCase(normalized))
+                return algorithm;
+        }
+        throw new IllegalArgumentException("Unknown rate limit algorithm: " + name);
+    }
+}
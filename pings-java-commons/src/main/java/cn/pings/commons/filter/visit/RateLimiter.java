@@ -0,0 +1,38 @@
+package cn.pings.commons.filter.visit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *********************************************************
+ ** @desc  ：  限流算法，每个key（如IP）的状态保存在一个AtomicLong中，通过CAS更新，无锁、不分配对象；
+ **            算法本身无状态，可以被所有的key共享
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 acquire增加key参数，增加close，用于集群限流  Pings 2026-10-17
+ * *******************************************************
+ */
+public interface RateLimiter {
+
+    /**允许的最大使用量，acquire的返回值大于该值表示拒绝*/
+    long getLimit();
+
+    /**创建一个key的初始状态*/
+    AtomicLong newState();
+
+    /**
+     *********************************************************
+     ** @desc ：  记录一次访问
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  key     key，如IP，只在需要按key同步状态时使用
+     ** @param  state   key的状态
+     ** @return 本次访问后的使用量（窗口内的访问次数、已使用的令牌数或者排队的请求数），大于getLimit()表示拒绝
+     * *******************************************************
+     */
+    long acquire(String key, AtomicLong state);
+
+    /**释放限流算法占用的资源，如后台线程*/
+    default void close() {}
+}
@@ -0,0 +1,265 @@
+package cn.pings.commons.filter.visit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ *********************************************************
+ ** @desc  ：  基于Redis的集群限流，所有实例共享每个key每秒的访问次数（固定窗口）
+ **            1.请求线程只在本地判断：已知的集群次数 + 本地尚未同步的次数 + 1 <= rate，无网络往返
+ **            2.后台线程每隔flushInterval毫秒把各个key本地新增的次数批量同步到Redis，
+ **              一次同步只执行一个Lua脚本（每秒一个hash，HINCRBY每个key），并用返回的集群次数更新本地状态
+ **            3.Redis不可用时按本地次数限流
+ **            4.进入下一秒时上一秒尚未同步的次数另行同步到上一秒的hash，不会丢弃
+ **            集群的次数最多延迟一个同步间隔，间隔内各个实例可能同时用完剩余的次数
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 脚本结果使用List<Long>；进入下一秒时同步上一秒尚未同步的次数  Pings 2026-10-17
+ * *******************************************************
+ */
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimiter.class);
+
+    //**每秒一个hash，字段为key，值为集群的访问次数
+    private static final String SCRIPT =
+            "local totals = {} " +
+            "for i = 1, #ARGV - 1, 2 do " +
+            "  totals[#totals + 1] = redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1]) " +
+            "end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[#ARGV]) " +
+            "return totals";
+    //**hash的过期时间（毫秒）
+    private static final String WINDOW_TTL = "2000";
+
+    //**状态从高到低为：当前秒的低24位、已知的集群次数（20位）、本地尚未同步的次数（20位）
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long SECOND_MASK = (1L << (64 - 2 * COUNT_BITS)) - 1;
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    //**redisTemplate，第一次同步时获取
+    private final Supplier<RedisTemplate<String, Object>> templateSupplier;
+    private volatile RedisTemplate<String, Object> template;
+    private final DefaultRedisScript<List<Long>> script = new DefaultRedisScript<>(SCRIPT, listOfLong());
+    private final RedisSerializer<String> serializer = new StringRedisSerializer();
+    //**每秒允许的次数
+    private final int rate;
+    //**hash的key前缀
+    private final String keyPrefix;
+    //**有本地次数尚未同步的key
+    private final Map<String, AtomicLong> dirty = new ConcurrentHashMap<>();
+    //**进入下一秒时上一秒尚未同步的次数：key、状态、次数、秒
+    private final Queue<Object[]> expired = new ConcurrentLinkedQueue<>();
+    //**同步的后台线程
+    private final ScheduledExecutorService flusher;
+    //**上次记录同步失败日志的时间，避免Redis不可用时每次同步都记录
+    private long lastFailureLog;
+
+    public RedisRateLimiter(RedisTemplate<String, Object> template, int rate, String keyPrefix, long flushInterval, TimeUnit unit) {
+        this(() -> template, rate, keyPrefix, flushInterval, unit);
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  创建集群限流
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  templateSupplier   获取redisTemplate，第一次同步时调用，如从spring上下文中获取
+     ** @param  rate               每秒允许的次数
+     ** @param  keyPrefix          Redis key的前缀，加上当前秒作为hash的key
+     ** @param  flushInterval      同步间隔
+     ** @param  unit               同步间隔的单位
+     * *******************************************************
+     */
+    public RedisRateLimiter(Supplier<RedisTemplate<String, Object>> templateSupplier, int rate, String keyPrefix, long flushInterval, TimeUnit unit) {
+        if (rate <= 0 || rate >= COUNT_MASK)
+            throw new IllegalArgumentException("The rate must be between 1 and " + (COUNT_MASK - 1));
+        if (flushInterval <= 0)
+            throw new IllegalArgumentException("The flush interval must be a positive number");
+
+        this.templateSupplier = templateSupplier;
+        this.rate = rate;
+        this.keyPrefix = keyPrefix;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "redis-rate-limiter-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, unit);
+    }
+
+    @Override
+    public long getLimit() {
+        return rate;
+    }
+
+    @Override
+    public AtomicLong newState() {
+        return new AtomicLong(pack(currentSecond(), 0, 0));
+    }
+
+    @Override
+    public long acquire(String key, AtomicLong state) {
+        while (true) {
+            long current = state.get();
+            long second = currentSecond();
+            long global = 0, pending = 0;
+            if (second(current) == second) {
+                global = (current >>> COUNT_BITS) & COUNT_MASK;
+                pending = current & COUNT_MASK;
+            }
+
+            long used = global + pending + 1;
+            if (used > rate)
+                return used;
+
+            if (state.compareAndSet(current, pack(second, global, pending + 1))) {
+                //**进入下一秒，上一秒尚未同步的次数另行同步
+                long stale = second(current) == second ? 0 : current & COUNT_MASK;
+                if (stale > 0)
+                    expired.add(new Object[]{key, state, stale, second(current)});
+
+                //**本次同步间隔内的第一次访问，等待同步
+                if (pending == 0)
+                    dirty.putIfAbsent(key, state);
+                return used;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdownNow();
+    }
+
+    //**把各个key本地新增的次数同步到Redis
+    private void flush() {
+        if (dirty.isEmpty() && expired.isEmpty())
+            return;
+
+        //**按秒分组，取出本地尚未同步的次数，先取出上一秒的
+        Map<Long, List<Object[]>> windows = new HashMap<>();
+        Object[] stale;
+        while ((stale = expired.poll()) != null)
+            windows.computeIfAbsent((Long) stale[3], s -> new ArrayList<>()).add(stale);
+
+        Iterator<Map.Entry<String, AtomicLong>> it = dirty.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, AtomicLong> e = it.next();
+            it.remove();
+
+            AtomicLong state = e.getValue();
+            long current;
+            while (true) {
+                current = state.get();
+                if ((current & COUNT_MASK) == 0 || state.compareAndSet(current, current & ~COUNT_MASK))
+                    break;
+            }
+            long pending = current & COUNT_MASK;
+            if (pending > 0)
+                windows.computeIfAbsent(second(current), s -> new ArrayList<>()).add(new Object[]{e.getKey(), state, pending});
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, List<Object[]>> window : windows.entrySet()) {
+            try {
+                sync(restoreSecond(window.getKey(), now / 1000), window.getValue());
+            } catch (RuntimeException e) {
+                //**Redis不可用时按本地次数限流：未同步的次数计入已知的集群次数，每分钟最多记录一次日志
+                for (Object[] visit : window.getValue())
+                    update((AtomicLong) visit[1], window.getKey(), -1, (Long) visit[2]);
+
+                if (now - lastFailureLog > 60_000) {
+                    lastFailureLog = now;
+                    log.warn("Failed to sync the visit counts to redis, limiting locally", e);
+                }
+            }
+        }
+    }
+
+    //**执行一次脚本，用返回的集群次数更新本地状态
+    private void sync(long epochSecond, List<Object[]> visits) {
+        String[] args = new String[visits.size() * 2 + 1];
+        for (int i = 0; i < visits.size(); i++) {
+            args[2 * i] = (String) visits.get(i)[0];
+            args[2 * i + 1] = String.valueOf(visits.get(i)[2]);
+        }
+        args[args.length - 1] = WINDOW_TTL;
+
+        List<Long> totals = template().execute(script, serializer, null, Collections.singletonList(keyPrefix + epochSecond), (Object[]) args);
+        if (totals == null)
+            return;
+
+        long second = epochSecond & SECOND_MASK;
+        for (int i = 0; i < visits.size() && i < totals.size(); i++)
+            update((AtomicLong) visits.get(i)[1], second, totals.get(i), 0);
+    }
+
+    //**更新已知的集群次数：total >= 0时替换为total，否则加上delta；已经进入下一秒的状态不再更新
+    private static void update(AtomicLong state, long second, long total, long delta) {
+        while (true) {
+            long current = state.get();
+            if (second(current) != second)
+                return;
+
+            long global = total >= 0 ? total : ((current >>> COUNT_BITS) & COUNT_MASK) + delta;
+            if (state.compareAndSet(current, pack(second, Math.min(global, COUNT_MASK), current & COUNT_MASK)))
+                return;
+        }
+    }
+
+    //**脚本返回整数数组，转换为List<Long>
+    @SuppressWarnings("unchecked")
+    private static Class<List<Long>> listOfLong() {
+        return (Class<List<Long>>) (Class<?>) List.class;
+    }
+
+    private RedisTemplate<String, Object> template() {
+        RedisTemplate<String, Object> template = this.template;
+        if (template == null)
+            this.template = template = templateSupplier.get();
+        return template;
+    }
+
+    private static long currentSecond() {
+        return (System.currentTimeMillis() / 1000) & SECOND_MASK;
+    }
+
+    private static long second(long state) {
+        return state >>> (2 * COUNT_BITS);
+    }
+
+    //**由低24位还原为完整的秒，取离当前时间最近的值
+    private static long restoreSecond(long second, long now) {
+        long restored = (now & ~SECOND_MASK) | second;
+        return restored > now + 1 ? restored - (SECOND_MASK + 1) : restored;
+    }
+
+    private static long pack(long second, long global, long pending) {
+        return second << (2 * COUNT_BITS) | global << COUNT_BITS | pending;
+    }
+}
@@ -0,0 +1,79 @@
+package cn.pings.commons.filter.visit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *********************************************************
+ ** @desc  ：  滑动窗口计数限流，最近一秒的次数 = 上一秒的次数 * 上一秒仍在窗口内的比例 + 当前秒的次数；
+ **            状态从高到低为：窗口序号（20位）、上一秒的次数（22位）、当前秒的次数（22位）；
+ **            被拒绝的访问不计数
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+    private static final int COUNT_BITS = 22;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long INDEX_MASK = (1L << (64 - 2 * COUNT_BITS)) - 1;
+
+    //**每秒允许的次数
+    private final int rate;
+
+    public SlidingWindowRateLimiter(int rate) {
+        if (rate <= 0 || rate >= COUNT_MASK)
+            throw new IllegalArgumentException("The rate must be between 1 and " + (COUNT_MASK - 1));
+        this.rate = rate;
+    }
+
+    @Override
+    public long getLimit() {
+        return rate;
+    }
+
+    @Override
+    public AtomicLong newState() {
+        return new AtomicLong(pack(Math.floorDiv(System.nanoTime(), WINDOW) & INDEX_MASK, 0, 0));
+    }
+
+    @Override
+    public long acquire(String key, AtomicLong state) {
+        while (true) {
+            //**先读取状态再读取时间，避免持有旧时间的线程把状态改回之前的窗口
+            long current = state.get();
+            long now = System.nanoTime();
+            long window = Math.floorDiv(now, WINDOW);
+            long index = window & INDEX_MASK;
+            //**上一秒仍在窗口内的部分（纳秒）
+            long remain = WINDOW - (now - window * WINDOW);
+
+            long currentIndex = current >>> (2 * COUNT_BITS);
+            long previous, count;
+            if (currentIndex == index) {
+                previous = (current >>> COUNT_BITS) & COUNT_MASK;
+                count = current & COUNT_MASK;
+            } else if (currentIndex == ((index - 1) & INDEX_MASK)) {
+                previous = current & COUNT_MASK;
+                count = 0;
+            } else {
+                previous = 0;
+                count = 0;
+            }
+
+            //**估算包括本次访问在内的最近一秒的次数，向上取整
+            long estimate = (previous * remain + WINDOW - 1) / WINDOW + count + 1;
+            if (estimate > rate)
+                return estimate;
+
+            if (state.compareAndSet(current, pack(index, previous, count + 1)))
+                return estimate;
+        }
+    }
+
+    private static long pack(long index, long previous, long count) {
+        return index << (2 * COUNT_BITS) | previous << COUNT_BITS | count;
+    }
+}
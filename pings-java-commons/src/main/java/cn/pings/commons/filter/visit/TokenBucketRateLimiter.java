@@ -0,0 +1,62 @@
+package cn.pings.commons.filter.visit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *********************************************************
+ ** @desc  ：  令牌桶限流，使用GCRA（通用信元速率算法）实现：状态为理论到达时间（TAT，System.nanoTime），
+ **            每次访问使TAT增加一个令牌的间隔，TAT超前当前时间不超过burst个间隔时允许访问，
+ **            与每秒补充rate个令牌、最多积累burst个令牌的令牌桶等价，只需要一个long
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    //**补充一个令牌的间隔（纳秒）
+    private final long interval;
+    //**桶的容量
+    private final int burst;
+    //**TAT最多超前当前时间的纳秒数
+    private final long tolerance;
+
+    public TokenBucketRateLimiter(int rate, int burst) {
+        if (rate <= 0)
+            throw new IllegalArgumentException("The rate must be a positive integer");
+        if (burst <= 0)
+            throw new IllegalArgumentException("The burst must be a positive integer");
+
+        this.interval = Math.max(1, TimeUnit.SECONDS.toNanos(1) / rate);
+        this.burst = burst;
+        this.tolerance = interval * burst;
+    }
+
+    @Override
+    public long getLimit() {
+        return burst;
+    }
+
+    @Override
+    public AtomicLong newState() {
+        //**初始时桶是满的
+        return new AtomicLong(System.nanoTime());
+    }
+
+    @Override
+    public long acquire(String key, AtomicLong state) {
+        long now = System.nanoTime();
+        while (true) {
+            long tat = state.get();
+            long next = (tat - now < 0 ? now : tat) + interval;
+            long ahead = next - now;
+            if (ahead > tolerance)
+                return burst + 1;
+
+            if (state.compareAndSet(tat, next))
+                //**已使用的令牌数
+                return (ahead + interval - 1) / interval;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package cn.pings.commons.filter.visit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ *********************************************************
+ ** @desc  ：  定期从文件和/或Redis的hash中加载访问规则（如rejectIps、allowIps、maxVisit），
+ **            内容变化时在后台线程中通知listener，请求线程不参与加载和构建
+ **            1.文件为properties格式（UTF-8），修改时间或者大小变化时才重新读取
+ **            2.Redis的hash中的字段覆盖文件中的同名配置
+ **            3.读取失败时保留上次的规则，不通知listener
+ **            4.listener抛出异常时不记录本次的规则，下次检查时重新通知
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 listener应用成功后才记录规则，应用失败的规则在下次检查时重试  Pings 2026-10-17
+ * *******************************************************
+ */
+public class VisitRulesReloader implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(VisitRulesReloader.class);
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    //**规则文件，为null时不从文件加载
+    private final Path file;
+    //**redisTemplate，为null时不从Redis加载
+    private final Supplier<RedisTemplate<String, Object>> templateSupplier;
+    //**保存规则的hash的key
+    private final String redisKey;
+    //**规则变化时的回调
+    private final Consumer<Map<String, String>> listener;
+    //**加载规则的后台线程
+    private final ScheduledExecutorService reloader;
+
+    //**上次读取文件时文件的修改时间、大小和内容
+    private long fileModified = -1, fileSize = -1;
+    private Map<String, String> fileRules = Collections.emptyMap();
+    //**上次成功应用的规则
+    private Map<String, String> rules;
+
+    /**
+     *********************************************************
+     ** @desc ：  创建规则加载器，立即在后台线程中加载一次，之后每隔period检查一次
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  file               规则文件，为null时不从文件加载
+     ** @param  templateSupplier   获取redisTemplate，为null时不从Redis加载
+     ** @param  redisKey           保存规则的hash的key
+     ** @param  period             检查间隔
+     ** @param  unit               检查间隔的单位
+     ** @param  listener           规则变化时的回调，参数为文件和Redis合并后的规则
+     * *******************************************************
+     */
+    public VisitRulesReloader(Path file, Supplier<RedisTemplate<String, Object>> templateSupplier, String redisKey,
+                              long period, TimeUnit unit, Consumer<Map<String, String>> listener) {
+        if (file == null && templateSupplier == null)
+            throw new IllegalArgumentException("Either a rules file or a redis template is required");
+        if (period <= 0)
+            throw new IllegalArgumentException("The reload period must be a positive number");
+
+        this.file = file;
+        this.templateSupplier = templateSupplier;
+        this.redisKey = redisKey;
+        this.listener = listener;
+        this.reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "visit-rules-reloader-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.reloader.scheduleWithFixedDelay(this::reload, 0, period, unit);
+    }
+
+    /**停止加载*/
+    @Override
+    public void close() {
+        reloader.shutdownNow();
+    }
+
+    //**加载规则，内容变化时通知listener
+    private void reload() {
+        Map<String, String> loaded;
+        try {
+            loaded = new HashMap<>(loadFile());
+            loaded.putAll(loadRedis());
+        } catch (Exception e) {
+            log.warn("Failed to load the visit rules, keeping the current rules", e);
+            return;
+        }
+
+        if (loaded.equals(rules))
+            return;
+
+        try {
+            listener.accept(loaded);
+            rules = loaded;
+        } catch (RuntimeException e) {
+            log.error("Failed to apply the visit rules, keeping the current rules", e);
+        }
+    }
+
+    private Map<String, String> loadFile() throws IOException {
+        if (file == null)
+            return Collections.emptyMap();
+
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        long size = Files.size(file);
+        if (modified == fileModified && size == fileSize)
+            return fileRules;
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<String, String> loaded = new HashMap<>();
+        for (String name : properties.stringPropertyNames())
+            loaded.put(name, properties.getProperty(name).trim());
+
+        fileModified = modified;
+        fileSize = size;
+        fileRules = loaded;
+        return loaded;
+    }
+
+    private Map<String, String> loadRedis() {
+        if (templateSupplier == null)
+            return Collections.emptyMap();
+
+        Map<Object, Object> entries = templateSupplier.get().opsForHash().entries(redisKey);
+        Map<String, String> loaded = new HashMap<>();
+        if (entries != null) {
+            for (Map.Entry<Object, Object> e : entries.entrySet()) {
+                if (e.getKey() != null && e.getValue() != null)
+                    loaded.put(e.getKey().toString(), e.getValue().toString().trim());
+            }
+        }
+        return loaded;
+    }
+}
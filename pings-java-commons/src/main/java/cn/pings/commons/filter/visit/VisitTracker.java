@@ -0,0 +1,186 @@
+package cn.pings.commons.filter.visit;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ *********************************************************
+ ** @desc  ：  有界的访问记录，按key（如IP）保存访问状态
+ **            1.记录数超过上限时，新增记录的线程按插入顺序淘汰记录（CLOCK算法），
+ **              上次检查之后被访问过的记录重新排到队尾，即淘汰最久未访问的记录
+ **            2.超过空闲时间没有访问的记录由后台线程定期移除
+ **            已存在的记录只做一次ConcurrentHashMap查找，不分配对象
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class VisitTracker<V> implements Closeable {
+
+    //**每次新增记录时最多检查的记录数，被访问过的记录会重新排队，不会一直占用请求线程
+    private static final int MAX_EVICT_SCAN = 16;
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    //**访问记录
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    //**按插入顺序排列的记录，用于淘汰
+    private final Queue<Entry<V>> clock = new ConcurrentLinkedQueue<>();
+    //**记录数上限
+    private final int maxSize;
+    //**空闲时间（秒）
+    private final long expireSeconds;
+    //**移除空闲记录的后台线程
+    private final ScheduledExecutorService cleaner;
+
+    /**
+     *********************************************************
+     ** @desc ：  创建访问记录
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  maxSize       记录数上限
+     ** @param  expireAfter   空闲时间，超过该时间没有访问的记录会被移除，最小为1秒
+     ** @param  unit          空闲时间的单位
+     * *******************************************************
+     */
+    public VisitTracker(int maxSize, long expireAfter, TimeUnit unit) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("The max size must be a positive integer");
+        if (expireAfter <= 0)
+            throw new IllegalArgumentException("The expire time must be a positive number");
+
+        this.maxSize = maxSize;
+        this.expireSeconds = Math.max(1, unit.toSeconds(expireAfter));
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "visit-tracker-" + THREAD_NUMBER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        //**每隔空闲时间的一半清理一次，间隔在1~60秒之间
+        long period = Math.min(60, Math.max(1, expireSeconds / 2));
+        cleaner.scheduleWithFixedDelay(this::expire, period, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  获取key对应的访问状态并标记为最近访问，不存在时使用factory创建
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  key       key，如IP
+     ** @param  factory   创建访问状态
+     ** @return 访问状态
+     * *******************************************************
+     */
+    public V get(String key, Function<? super String, ? extends V> factory) {
+        long now = now();
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            Entry<V> created = new Entry<>(key, factory.apply(key), now);
+            entry = entries.putIfAbsent(key, created);
+            if (entry == null) {
+                clock.offer(created);
+                if (entries.size() > maxSize)
+                    evict();
+                return created.value;
+            }
+        }
+
+        entry.touch(now);
+        return entry.value;
+    }
+
+    /**获取key对应的访问状态，不标记为最近访问，不存在时返回null*/
+    public V getIfPresent(String key) {
+        Entry<V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**当前的记录数*/
+    public int size() {
+        return entries.size();
+    }
+
+    /**记录数上限*/
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**停止后台清理*/
+    @Override
+    public void close() {
+        cleaner.shutdownNow();
+    }
+
+    //**从队首开始淘汰，被访问过的记录清除标记后重新排到队尾
+    private void evict() {
+        for (int i = 0; i < MAX_EVICT_SCAN && entries.size() > maxSize; i++) {
+            Entry<V> entry = clock.poll();
+            if (entry == null)
+                return;
+            if (entry.removed)
+                continue;
+
+            if (entry.referenced) {
+                entry.referenced = false;
+                clock.offer(entry);
+            } else {
+                remove(entry);
+            }
+        }
+    }
+
+    //**移除超过空闲时间的记录，并清理队列中已移除的记录
+    private void expire() {
+        long deadline = now() - expireSeconds;
+        for (Entry<V> entry : entries.values()) {
+            if (entry.lastAccess < deadline)
+                remove(entry);
+        }
+        clock.removeIf(entry -> entry.removed);
+    }
+
+    private void remove(Entry<V> entry) {
+        if (entries.remove(entry.key, entry))
+            entry.removed = true;
+    }
+
+    //**以秒为单位的时间，同一秒内的访问不重复更新最近访问时间
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    //**访问记录
+    private static class Entry<V> {
+        private final String key;
+        private final V value;
+        //**最近访问时间（秒）
+        private volatile long lastAccess;
+        //**上次淘汰检查之后是否被访问过
+        private volatile boolean referenced;
+        //**是否已从访问记录中移除
+        private volatile boolean removed;
+
+        Entry(String key, V value, long lastAccess) {
+            this.key = key;
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+
+        //**只在值发生变化时写入，避免同一个key的并发访问反复写同一个缓存行
+        void touch(long now) {
+            if (lastAccess != now)
+                lastAccess = now;
+            if (!referenced)
+                referenced = true;
+        }
+    }
+}
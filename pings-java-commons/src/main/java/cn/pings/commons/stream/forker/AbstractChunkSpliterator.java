@@ -0,0 +1,100 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Spliterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ *********************************************************
+ ** @desc  ：基本类型fork读取端的公共实现，队列中的元素为基本类型数组（int[]、long[]、double[]），
+ **          拆分时直接交出当前数组，无需复制
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+abstract class AbstractChunkSpliterator<A> {
+
+	//**需要遍历的BlockingQueue对象
+	private final BlockingQueue<Object> q;
+	//**fork结束后释放队列
+	private final Consumer<BlockingQueue<Object>> onClose;
+	private final int characteristics;
+	//**剩余元素个数，-1表示未知，读取到截止符后为0
+	private long remaining;
+	//**是否已读取到截止符
+	private boolean done;
+	//**当前正在遍历的数组、位置及长度
+	protected A chunk;
+	protected int index;
+	protected int length;
+
+	AbstractChunkSpliterator(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+		this.q = q;
+		this.onClose = onClose;
+		this.remaining = size;
+		this.characteristics = Spliterator.NONNULL
+				| (ordered ? Spliterator.ORDERED : 0)
+				| (size >= 0 ? Spliterator.SIZED | Spliterator.SUBSIZED : 0);
+	}
+
+	//**数组的长度
+	protected abstract int length(A chunk);
+
+	/**当前数组已遍历完时取出下一个数组，读取到截止符时返回false*/
+	@SuppressWarnings("unchecked")
+	protected final boolean ensureChunk() {
+		if (chunk != null && index < length)
+			return true;
+		if (done)
+			return false;
+
+		Object item = take();
+		if (item == ForkBuffer.END_OF_STREAM) {
+			chunk = null;
+			done = true;
+			remaining = 0;
+			return false;
+		}
+		chunk = (A) item;
+		index = 0;
+		length = length(chunk);
+		return true;
+	}
+
+	/**拆分前取出需要交出的数组区间[index, length)，之后当前数组视为已遍历*/
+	protected final boolean prepareSplit() {
+		return remaining != 0 && ensureChunk();
+	}
+
+	//**读取了n个元素
+	protected final void advanced(int n) {
+		if (remaining > 0)
+			remaining -= n;
+	}
+
+	public long estimateSize() {
+		return remaining >= 0 ? remaining : Long.MAX_VALUE;
+	}
+
+	public int characteristics() {
+		return characteristics;
+	}
+
+	//**fork结束后调用，释放队列
+	void close() {
+		chunk = null;
+		done = true;
+		remaining = 0;
+		onClose.accept(q);
+	}
+
+	//**从队列中取出一个数组，队列为空时阻塞
+	private Object take() {
+		while (true) {
+			try {
+				return q.take();
+			} catch (InterruptedException e) {}
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ *********************************************************
+ ** @desc  ：fork读取端的公共实现，支持拆分出已发布的元素，使fork中的parallel()真正并行执行
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+abstract class AbstractForkReader<T> implements ForkBuffer.Reader<T> {
+
+	//**拆分时每次增加的批量大小，与Spliterators.spliteratorUnknownSize一致
+	static final int BATCH_UNIT = 1 << 10;
+	//**拆分时的最大批量大小
+	static final int MAX_BATCH = 1 << 25;
+
+	private final int characteristics;
+	//**剩余元素个数，-1表示未知，读取到截止符后为0
+	private long remaining;
+	//**是否已读取到截止符，之后不能再从缓冲区读取
+	private boolean done;
+	//**上一次拆分的批量大小
+	private int batch;
+	//**拆分时暂存tryAdvance取出的元素
+	private Object holder;
+	private final Consumer<T> hold = t -> holder = t;
+
+	/**
+	 *********************************************************
+	 ** @desc ：  构造函数
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  size      源流的元素个数，-1表示未知
+	 ** @param  ordered   元素的顺序是否与源流一致
+	 * *******************************************************
+	 */
+	AbstractForkReader(long size, boolean ordered) {
+		this.remaining = size;
+		this.characteristics = Spliterator.NONNULL
+				| (ordered ? Spliterator.ORDERED : 0)
+				| (size >= 0 ? Spliterator.SIZED | Spliterator.SUBSIZED : 0);
+	}
+
+	//**读取了一个元素
+	protected final void advanced() {
+		if (remaining > 0)
+			remaining--;
+	}
+
+	//**读取到截止符
+	protected final void ended() {
+		done = true;
+		remaining = 0;
+	}
+
+	protected final boolean isDone() {
+		return done;
+	}
+
+	/**拆分出一批已发布的元素（等待直到取满一批或者读取到截止符），批量大小逐次增加*/
+	@Override
+	public Spliterator<T> trySplit() {
+		if (done || remaining == 0)
+			return null;
+
+		int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+		if (remaining > 0 && n > remaining)
+			n = (int) remaining;
+
+		Object[] a = new Object[n];
+		int j = 0;
+		while (j < n && tryAdvance(hold))
+			a[j++] = holder;
+		holder = null;
+
+		if (j == 0)
+			return null;
+
+		batch = j;
+		return Spliterators.spliterator(a, 0, j, characteristics);
+	}
+
+	@Override
+	public long estimateSize() {
+		return remaining >= 0 ? remaining : Long.MAX_VALUE;
+	}
+
+	@Override
+	public int characteristics() {
+		return characteristics;
+	}
+}
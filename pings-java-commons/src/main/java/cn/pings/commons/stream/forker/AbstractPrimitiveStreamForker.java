@@ -0,0 +1,286 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.BaseStream;
+
+/**
+ *********************************************************
+ ** @desc  ：基本类型流的StreamForker公共实现，生产者把元素写入基本类型数组，
+ **          按批次添加到每个fork的队列中，fork得到的是基本类型流，全程不装箱
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.2
+ **
+ ** V1.1 getResults立即返回，源流在生产者线程中消费  Pings 2026-10-17
+ ** V1.2 默认仍在调用线程上消费源流，调用async时使用生产者线程  Pings 2026-10-17
+ * *******************************************************
+ */
+abstract class AbstractPrimitiveStreamForker<S extends BaseStream<?, S>, F extends AbstractPrimitiveStreamForker<S, F>> {
+
+	//**默认批量大小
+	static final int DEFAULT_BATCH_SIZE = 1024;
+
+	//**流
+	private final S stream;
+	//**需要绑定的多个Lambda表达式
+	private final Map<Object, Function<S, ?>> forks = new HashMap<>();
+	//**每个fork的队列容量（批次的个数），<=0表示无界
+	private int capacity;
+	//**有界队列已满时的处理策略
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+	//**批量大小
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	//**执行fork的Executor，默认每个fork使用一个新线程
+	private Executor executor;
+	//**并行消费源流的生产者线程数，1表示顺序消费
+	private int producers = 1;
+	//**是否在生产者线程中消费源流
+	private boolean async;
+
+	AbstractPrimitiveStreamForker(S stream) {
+		this.stream = stream;
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  绑定多个Lambda表达式
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  key   Lambda表达式对应的key，用于获取返回值
+	 ** @param  func  绑定的Lambda表达式
+	 ** @return 自身，保证多次调用fork方法
+	 * *******************************************************
+	 */
+	public F fork(Object key, Function<S, ?> func) {
+		forks.put(key, func);
+		return self();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  使用有界队列，队列已满时阻塞生产者，参考{@link StreamForker#bounded(int)}
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  capacity   每个fork的队列容量（批次的个数）
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public F bounded(int capacity) {
+		return bounded(capacity, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  使用有界队列，参考{@link StreamForker#bounded(int, OverflowPolicy)}
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  capacity         每个fork的队列容量（批次的个数）
+	 ** @param  overflowPolicy   队列已满时的处理策略
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public F bounded(int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("The capacity must be a positive integer");
+
+		this.capacity = capacity;
+		this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+		return self();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  批量大小，即每个基本类型数组的长度，默认为1024
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  batchSize   批量大小
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public F batchSize(int batchSize) {
+		if (batchSize <= 0)
+			throw new IllegalArgumentException("The batch size must be a positive integer");
+
+		this.batchSize = batchSize;
+		return self();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  指定执行fork的Executor，参考{@link StreamForker#executor(Executor)}
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  executor   Executor
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public F executor(Executor executor) {
+		this.executor = Objects.requireNonNull(executor);
+		return self();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  每个fork使用指定的线程工厂创建一个新线程
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  threadFactory   线程工厂
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public F threadFactory(ThreadFactory threadFactory) {
+		return executor(ForkExecutors.threadPerFork(Objects.requireNonNull(threadFactory)));
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  使用多个生产者线程并行消费源流，参考{@link StreamForker#parallel(int)}
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  producers   生产者线程数，1表示顺序消费
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public F parallel(int producers) {
+		if (producers <= 0)
+			throw new IllegalArgumentException("The producers must be a positive integer");
+
+		this.producers = producers;
+		return self();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  在生产者线程中消费源流，参考{@link StreamForker#async()}
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public F async() {
+		this.async = true;
+		return self();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  获取返回结果（异步），参考{@link StreamForker#getResults()}
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @return 结果对象
+	 * *******************************************************
+	 */
+	public Results getResults() {
+		//**源流的Spliterator，fork的读取端据此提供元素个数和顺序
+		Spliterator<?> source = producers > 1 ? stream.parallel().spliterator() : stream.sequential().spliterator();
+		long size = source.getExactSizeIfKnown();
+		boolean ordered = producers == 1 && source.hasCharacteristics(Spliterator.ORDERED);
+
+		ForkQueues queues = new ForkQueues(capacity, overflowPolicy);
+		Executor executor = this.executor != null ? this.executor : ForkExecutors.threadPerFork(ForkExecutors.defaultThreadFactory());
+		//**建立用于标识操作的键与包含操作结果的Future之间的映射关系
+		Map<Object, Future<?>> actions = new HashMap<>();
+		try {
+			for (Map.Entry<Object, Function<S, ?>> e : forks.entrySet()) {
+				AbstractChunkSpliterator<?> reader = newReader(queues.newQueue(), queues::release, size, ordered);
+				actions.put(e.getKey(), getOperationResult(reader, executor, e.getValue()));
+			}
+		} catch (RuntimeException e) {
+			//**Executor拒绝执行时，结束已经启动的fork
+			queues.finish(Collections.emptyList());
+			throw e;
+		}
+
+		ForkResults results = new ForkResults(actions, forks, queues::cancel);
+		//**把stream中的每个元素写入基本类型数组，按批次添加到每个fork的队列中
+		int producers = this.producers, batchSize = this.batchSize;
+		Runnable production = () -> {
+			List<ChunkProducer> producerList = new CopyOnWriteArrayList<>();
+			try {
+				if (producers > 1) {
+					ForkSources.forEachParallel(source, producers, executor, part -> {
+						ChunkProducer producer = newProducer(queues, batchSize);
+						producerList.add(producer);
+						producer.consume(part);
+					});
+				} else {
+					ChunkProducer producer = newProducer(queues, batchSize);
+					producerList.add(producer);
+					producer.consume(source);
+				}
+			} catch (ForksClosedException e) {
+				//**所有fork都已结束，不再消费剩余的元素
+			} catch (Throwable e) {
+				//**在截止符之前记录异常，fork结束后get抛出该异常
+				results.fail(e);
+			} finally {
+				//**最后一个不完整的批次和截止符
+				List<Object> lasts = new ArrayList<>();
+				for (ChunkProducer producer : producerList) {
+					Object last = producer.drain();
+					if (last != null)
+						lasts.add(last);
+				}
+				queues.finish(lasts);
+			}
+		};
+
+		if (async)
+			ForkSources.start(production, executor);
+		else
+			production.run();
+		return results;
+	}
+
+	//**异步执行指定的Lambda表达式
+	private Future<?> getOperationResult(AbstractChunkSpliterator<?> reader, Executor executor, Function<S, ?> f) {
+		S source = newStream(reader);
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return f.apply(source);
+			} finally {
+				//**fork结束后释放队列，避免生产者阻塞或者继续堆积
+				reader.close();
+			}
+		}, executor);
+	}
+
+	@SuppressWarnings("unchecked")
+	private F self() {
+		return (F) this;
+	}
+
+	//**创建fork的读取端
+	abstract AbstractChunkSpliterator<?> newReader(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered);
+
+	//**使用读取端创建基本类型流
+	abstract S newStream(AbstractChunkSpliterator<?> reader);
+
+	//**创建生产者
+	abstract ChunkProducer newProducer(ForkQueues queues, int batchSize);
+
+	/**
+	 *********************************************************
+	 ** @desc  ：生产者，把元素写入基本类型数组，攒满一批后添加到所有的队列中
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	interface ChunkProducer {
+
+		/**消费源流（或者其中一份）的所有元素*/
+		void consume(Spliterator<?> source);
+
+		/**取出最后一个不完整的批次，没有时返回null*/
+		Object drain();
+	}
+}
@@ -1,6 +1,7 @@
 package cn.pings.commons.stream.forker;
 
-import java.util.Spliterator;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.function.Consumer;
 
@@ -9,49 +10,117 @@ import java.util.function.Consumer;
  ** @desc  ：自定义Spliterator，用于遍历BlockingQueue对象
  ** @author  Pings                                     
  ** @date    2018年1月8日  
- ** @version v1.0                                                                              
+ ** @version v1.2
+ **
+ ** V1.1 支持批量模式，队列中的元素为元素数组  Pings 2026-10-17
+ ** V1.2 支持拆分，返回准确的特征值和元素个数  Pings 2026-10-17
  * *******************************************************
  */
-public class BlockingQueueSpliterator<T> implements Spliterator<T> {
+public class BlockingQueueSpliterator<T> extends AbstractForkReader<T> {
+
+	//**forEachRemaining每次从队列中一次性取出的最大个数
+	private static final int DRAIN_SIZE = 1024;
 
 	//**需要遍历的BlockingQueue对象
-	private final BlockingQueue<T> q;
+	private final BlockingQueue<Object> q;
+	//**是否为批量模式
+	private final boolean batched;
+	//**fork结束后释放队列
+	private final Consumer<BlockingQueue<Object>> onClose;
+	//**批量模式下当前正在遍历的元素数组
+	private Object[] batch;
+	private int index;
 
-	BlockingQueueSpliterator(BlockingQueue<T> q) {
+	BlockingQueueSpliterator(BlockingQueue<Object> q, boolean batched, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+		super(size, ordered);
 		this.q = q;
+		this.batched = batched;
+		this.onClose = onClose;
 	}
 
 	/**从BlockingQueue中取得原始流中的元素，元素会被作为进一步处理流的源头传递给Consumer对象（在流上要执行的函数会作为参数传递给某个fork方法调用）。 
 	        返回true通知调用方还有其他的元素需要处理，直到它发现由ForkingSteamConsumer添加的特殊对象，表明队列中已经没有更多需要处理的元素了。
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public boolean tryAdvance(Consumer<? super T> action) {
-		T t;
-		while (true) {
-			try {
-				t = q.take();
-				break;
-			} catch (InterruptedException e) {}
+		if (isDone())
+			return false;
+
+		if (batched) {
+			if (batch == null || index == batch.length) {
+				Object item = take();
+				if (item == ForkBuffer.END_OF_STREAM) {
+					batch = null;
+					ended();
+					return false;
+				}
+				batch = (Object[]) item;
+				index = 0;
+			}
+			advanced();
+			action.accept((T) batch[index++]);
+			return true;
 		}
-		if (t != ForkingStreamConsumer.END_OF_STREAM) {
-			action.accept(t);
+
+		Object t = take();
+		if (t != ForkBuffer.END_OF_STREAM) {
+			advanced();
+			action.accept((T) t);
 			return true;
 		}
+		ended();
 		return false;
 	}
 
+	/**一次性从BlockingQueue中取出多个元素，减少每个元素的加锁次数*/
 	@Override
-	public Spliterator<T> trySplit() {
-		return null;
+	@SuppressWarnings("unchecked")
+	public void forEachRemaining(Consumer<? super T> action) {
+		//**先处理当前批次中剩余的元素
+		if (batch != null) {
+			for (; index < batch.length; index++)
+				action.accept((T) batch[index]);
+			batch = null;
+		}
+		if (isDone())
+			return;
+
+		List<Object> items = new ArrayList<>(DRAIN_SIZE);
+		while (true) {
+			items.add(take());
+			q.drainTo(items, DRAIN_SIZE - 1);
+
+			for (Object item : items) {
+				if (item == ForkBuffer.END_OF_STREAM) {
+					ended();
+					return;
+				}
+
+				if (batched) {
+					for (Object t : (Object[]) item)
+						action.accept((T) t);
+				} else {
+					action.accept((T) item);
+				}
+			}
+			items.clear();
+		}
 	}
 
-	@Override
-	public long estimateSize() {
-		return 0;
+	//**从队列中取出一个元素，队列为空时阻塞
+	private Object take() {
+		while (true) {
+			try {
+				return q.take();
+			} catch (InterruptedException e) {}
+		}
 	}
 
 	@Override
-	public int characteristics() {
-		return 0;
+	public void close() {
+		batch = null;
+		ended();
+		onClose.accept(q);
 	}
 }
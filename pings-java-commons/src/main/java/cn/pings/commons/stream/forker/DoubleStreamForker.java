@@ -0,0 +1,139 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ *********************************************************
+ ** @desc  ：为一个DoubleStream绑定多个Lambda表达式，元素以double[]按批次分发，全程不装箱
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class DoubleStreamForker extends AbstractPrimitiveStreamForker<DoubleStream, DoubleStreamForker> {
+
+	public DoubleStreamForker(DoubleStream stream) {
+		super(stream);
+	}
+
+	@Override
+	AbstractChunkSpliterator<?> newReader(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+		return new DoubleChunkSpliterator(q, onClose, size, ordered);
+	}
+
+	@Override
+	DoubleStream newStream(AbstractChunkSpliterator<?> reader) {
+		return StreamSupport.doubleStream((DoubleChunkSpliterator) reader, false);
+	}
+
+	@Override
+	ChunkProducer newProducer(ForkQueues queues, int batchSize) {
+		return new DoubleChunkProducer(queues, batchSize);
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc  ：生产者，把元素写入double[]
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	static class DoubleChunkProducer implements ChunkProducer, DoubleConsumer {
+
+		private final ForkQueues queues;
+		private final int batchSize;
+		private double[] chunk;
+		private int count;
+
+		DoubleChunkProducer(ForkQueues queues, int batchSize) {
+			this.queues = queues;
+			this.batchSize = batchSize;
+			this.chunk = new double[batchSize];
+		}
+
+		@Override
+		public void accept(double value) {
+			chunk[count++] = value;
+			if (count == batchSize) {
+				double[] full = chunk;
+				chunk = new double[batchSize];
+				count = 0;
+				queues.dispatch(full);
+			}
+		}
+
+		@Override
+		public void consume(Spliterator<?> source) {
+			((Spliterator.OfDouble) source).forEachRemaining((DoubleConsumer) this);
+		}
+
+		@Override
+		public Object drain() {
+			double[] last = count > 0 ? Arrays.copyOf(chunk, count) : null;
+			count = 0;
+			return last;
+		}
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc  ：自定义Spliterator，遍历队列中的double[]
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	static class DoubleChunkSpliterator extends AbstractChunkSpliterator<double[]> implements Spliterator.OfDouble {
+
+		DoubleChunkSpliterator(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+			super(q, onClose, size, ordered);
+		}
+
+		@Override
+		protected int length(double[] chunk) {
+			return chunk.length;
+		}
+
+		@Override
+		public boolean tryAdvance(DoubleConsumer action) {
+			if (!ensureChunk())
+				return false;
+
+			advanced(1);
+			action.accept(chunk[index++]);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(DoubleConsumer action) {
+			while (ensureChunk()) {
+				double[] a = chunk;
+				int to = length;
+				advanced(to - index);
+				for (int i = index; i < to; i++)
+					action.accept(a[i]);
+				index = to;
+			}
+		}
+
+		@Override
+		public Spliterator.OfDouble trySplit() {
+			if (!prepareSplit())
+				return null;
+
+			//**交出当前数组剩余的部分
+			int from = index;
+			index = length;
+			advanced(length - from);
+			return Spliterators.spliterator(chunk, from, length, characteristics());
+		}
+	}
+}
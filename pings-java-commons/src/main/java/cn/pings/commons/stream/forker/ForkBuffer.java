@@ -0,0 +1,47 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ *********************************************************
+ ** @desc  ：分发缓冲区，生产者把流中的元素发布到缓冲区，每个fork通过各自的Reader读取
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+interface ForkBuffer<T> {
+
+	//**截止符，表示流的结尾
+	Object END_OF_STREAM = new Object();
+
+	/**为一个fork创建读取端，必须在发布元素之前调用；size为源流的元素个数（-1表示未知），ordered为元素的顺序是否与源流一致*/
+	Reader<T> newReader(long size, boolean ordered);
+
+	/**发布一个元素，只能由生产者线程调用*/
+	void publish(T t);
+
+	/**为一个生产者线程创建发布端，多个发布端可以并发发布，用于并行消费源流；finish必须在所有发布端结束后调用*/
+	Consumer<T> newProducer();
+
+	/**发布截止符，表明该流已经结束；无论采用哪种策略都阻塞等待，保证每个fork都能结束*/
+	void finish();
+
+	/**取消所有fork：释放所有读取端占用的元素，读取端不再返回元素，等待中的读取端立即结束*/
+	void cancel();
+
+	/**
+	 *********************************************************
+	 ** @desc  ：fork的读取端
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	interface Reader<T> extends Spliterator<T> {
+
+		/**fork结束（正常结束、短路或者异常）后调用，生产者不再等待该读取端，并释放其占用的元素*/
+		void close();
+	}
+}
@@ -0,0 +1,17 @@
+package cn.pings.commons.stream.forker;
+
+/**
+ *********************************************************
+ ** @desc  ：StreamForker的分发引擎
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public enum ForkEngine {
+
+	//**每个fork一个BlockingQueue，生产者把元素复制到所有的队列中
+	QUEUE,
+	//**所有fork共享一个预分配的环形缓冲区，每个元素只发布一次，每个fork维护各自的读取位置，无锁
+	RING_BUFFER
+}
@@ -0,0 +1,95 @@
+package cn.pings.commons.stream.forker;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *********************************************************
+ ** @desc  ：StreamForker可用的Executor；每个fork在整个流处理期间都会阻塞一个线程，
+ **          所以不应该使用ForkJoinPool.commonPool()等共享的计算线程池
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 生产者同样使用该Executor  Pings 2026-10-17
+ * *******************************************************
+ */
+public final class ForkExecutors {
+
+	//**线程编号
+	private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+	/**
+	 *********************************************************
+	 ** @desc ：默认的线程工厂，创建名称为stream-forker-N的守护线程
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @return ThreadFactory
+	 * *******************************************************
+	 */
+	public static ThreadFactory defaultThreadFactory() {
+		return r -> {
+			Thread thread = new Thread(r, "stream-forker-" + THREAD_NUMBER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：每个fork使用一个新线程，fork结束后线程随之结束；StreamForker的默认Executor
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  threadFactory   线程工厂
+	 ** @return Executor
+	 * *******************************************************
+	 */
+	public static Executor threadPerFork(ThreadFactory threadFactory) {
+		return r -> threadFactory.newThread(r).start();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：专用的有界线程池，空闲线程60秒后回收；
+	 **          线程全部被占用时直接拒绝（RejectedExecutionException），而不是排队等待，
+	 **          避免fork无法启动而生产者一直等待该fork导致死锁
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  maxThreads   最大线程数，不能小于同时运行的fork个数；另需生产者的线程，不足时在调用线程上消费源流
+	 ** @return ExecutorService，不再使用时需要调用shutdown
+	 * *******************************************************
+	 */
+	public static ExecutorService newForkPool(int maxThreads) {
+		if (maxThreads <= 0)
+			throw new IllegalArgumentException("The max threads must be a positive integer");
+
+		return new ThreadPoolExecutor(0, maxThreads, 60L, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：每个fork使用一个虚拟线程，阻塞在队列上时不占用平台线程；需要JDK21及以上
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @return Executor
+	 ** @throws UnsupportedOperationException 当前JDK不支持虚拟线程
+	 * *******************************************************
+	 */
+	public static Executor virtualThreads() {
+		//**项目以JDK1.8编译，通过反射调用Thread.ofVirtual().name("stream-forker-virtual-", 0).factory()
+		try {
+			Method ofVirtual = Thread.class.getMethod("ofVirtual");
+			Object builder = ofVirtual.invoke(null);
+			Class<?> builderClass = ofVirtual.getReturnType();
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "stream-forker-virtual-", 0L);
+			ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+			return threadPerFork(factory);
+		} catch (NoSuchMethodException e) {
+			throw new UnsupportedOperationException("Virtual threads require JDK 21 or later");
+		} catch (ReflectiveOperationException e) {
+			throw new UnsupportedOperationException("Virtual threads are not available", e);
+		}
+	}
+}
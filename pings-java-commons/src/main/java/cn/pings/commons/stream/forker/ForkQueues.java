@@ -0,0 +1,151 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *********************************************************
+ ** @desc  ：每个fork一个BlockingQueue，把同一个对象（元素或者元素数组）添加到所有的队列中
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 取消时保证截止符添加成功  Pings 2026-10-17
+ * *******************************************************
+ */
+class ForkQueues {
+
+	//**生产者阻塞在已满的队列上时，检查队列是否已释放的间隔（毫秒）
+	private static final long RELEASE_CHECK_MILLIS = 10;
+
+	//**队列，fork结束后会移除对应的队列
+	private final List<BlockingQueue<Object>> queues = new CopyOnWriteArrayList<>();
+	//**每个fork的队列容量，<=0表示无界
+	private final int capacity;
+	//**有界队列已满时的处理策略
+	private final OverflowPolicy overflowPolicy;
+
+	ForkQueues(int capacity, OverflowPolicy overflowPolicy) {
+		this.capacity = capacity;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	//**创建一个队列，并将其添加到队列的列表中
+	BlockingQueue<Object> newQueue() {
+		BlockingQueue<Object> queue = new ForkQueue(capacity > 0 ? capacity : Integer.MAX_VALUE);
+		queues.add(queue);
+		return queue;
+	}
+
+	//**将对象添加到所有的队列中；所有的队列都已释放时抛出ForksClosedException，中止源流的遍历
+	void dispatch(Object item) {
+		if (queues.isEmpty())
+			throw ForksClosedException.INSTANCE;
+
+		for (BlockingQueue<Object> q : queues) {
+			if (overflowPolicy == OverflowPolicy.FAIL) {
+				if (!q.offer(item))
+					throw new IllegalStateException("The fork queue is full, capacity: " + (q.size() + q.remainingCapacity()));
+			} else {
+				try {
+					q.put(item);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeException(e);
+				}
+			}
+		}
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  添加最后的对象和截止符，无论采用哪种策略都阻塞添加，保证每个fork都能结束
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  lasts   最后的对象，如各个生产者最后一个不完整的批次
+	 * *******************************************************
+	 */
+	void finish(List<?> lasts) {
+		boolean interrupted = false;
+		for (BlockingQueue<Object> q : queues) {
+			for (Object last : lasts)
+				interrupted |= putUninterruptibly(q, last);
+			interrupted |= putUninterruptibly(q, ForkBuffer.END_OF_STREAM);
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	//**fork结束后不再需要剩余的元素，移除并清空队列，唤醒可能阻塞在该队列上的生产者；
+	//**生产者可能正在遍历移除前的列表，之后添加到该队列的对象会被直接丢弃
+	void release(BlockingQueue<Object> q) {
+		((ForkQueue) q).released = true;
+		queues.remove(q);
+		q.clear();
+	}
+
+	//**取消所有fork，清空并释放所有的队列，添加截止符唤醒等待中的读取端
+	void cancel() {
+		for (BlockingQueue<Object> q : queues)
+			((ForkQueue) q).terminate();
+		queues.clear();
+	}
+
+	//**阻塞添加元素，返回等待期间是否被中断
+	private static boolean putUninterruptibly(BlockingQueue<Object> q, Object item) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				q.put(item);
+				return interrupted;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  fork的队列，释放后丢弃添加的对象，阻塞在已满队列上的生产者也会返回，
+	 **          避免多个生产者同时向已经没有读取端的队列添加对象时永久阻塞
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 * *******************************************************
+	 */
+	private static class ForkQueue extends LinkedBlockingQueue<Object> {
+
+		private static final long serialVersionUID = 1L;
+
+		//**对应的fork是否已经结束
+		private volatile boolean released;
+
+		ForkQueue(int capacity) {
+			super(capacity);
+		}
+
+		//**释放并清空队列，只保留截止符；释放前已阻塞在offer中的生产者可能在清空后添加对象，
+		//**截止符添加失败时再次清空，释放后不会再有新的对象，最多重试正在添加的生产者个数次
+		void terminate() {
+			released = true;
+			do {
+				clear();
+			} while (!super.offer(ForkBuffer.END_OF_STREAM));
+		}
+
+		@Override
+		public boolean offer(Object item) {
+			return released || super.offer(item);
+		}
+
+		@Override
+		public void put(Object item) throws InterruptedException {
+			while (!released) {
+				if (super.offer(item, RELEASE_CHECK_MILLIS, TimeUnit.MILLISECONDS))
+					return;
+			}
+		}
+	}
+}
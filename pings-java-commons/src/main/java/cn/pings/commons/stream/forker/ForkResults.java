@@ -0,0 +1,113 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ *********************************************************
+ ** @desc  ：结果对象的实现，按key获取每个fork的异步计算结果
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 源流在生产者线程中消费，消费源流失败时get抛出该异常  Pings 2026-10-17
+ * *******************************************************
+ */
+class ForkResults implements Results {
+
+	//**异步计算结果，存放每个fork的异步计算结果
+	private final Map<Object, Future<?>> actions;
+	//**绑定的Lambda表达式，用于获取增量fork的快照
+	private final Map<Object, ? extends Function<?, ?>> forks;
+	//**取消所有fork时释放分发缓冲区
+	private final Runnable canceller;
+	//**消费源流时抛出的异常，在发布截止符之前设置，fork结束后get可以看到
+	private volatile Throwable failure;
+
+	ForkResults(Map<Object, Future<?>> actions, Map<Object, ? extends Function<?, ?>> forks, Runnable canceller) {
+		this.actions = actions;
+		this.forks = forks;
+		this.canceller = canceller;
+	}
+
+	@Override
+	public <R> R get(Object key) {
+		try {
+			//**等待Future完成相关的计算，返回由特定键标识的处理结果
+			R result = this.<R>action(key).get();
+			this.throwFailure();
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			this.throwFailure();
+			throw unwrap(e.getCause());
+		}
+	}
+
+	@Override
+	public <R> R get(Object key, long timeout, TimeUnit unit) throws TimeoutException {
+		try {
+			R result = this.<R>action(key).get(timeout, unit);
+			this.throwFailure();
+			return result;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			this.throwFailure();
+			throw unwrap(e.getCause());
+		}
+	}
+
+	@Override
+	public void cancel() {
+		//**先取消Future，之后读取端结束时fork的返回值被忽略
+		actions.values().forEach(f -> f.cancel(true));
+		canceller.run();
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <R> R snapshot(Object key) {
+		Function<?, ?> fork = forks.get(key);
+		if (!(fork instanceof IncrementalFork))
+			throw new IllegalArgumentException("Not an incremental fork: " + key);
+
+		return ((IncrementalFork<?, ?, R>) fork).snapshot();
+	}
+
+	//**记录消费源流时抛出的异常，fork得到的是不完整的流，其结果不再返回
+	void fail(Throwable failure) {
+		this.failure = failure;
+	}
+
+	//**消费源流失败时抛出该异常
+	private void throwFailure() {
+		Throwable failure = this.failure;
+		if (failure != null)
+			throw unwrap(failure);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <R> Future<R> action(Object key) {
+		Future<?> action = actions.get(key);
+		if (action == null)
+			throw new IllegalArgumentException("Unknown fork: " + key);
+		return (Future<R>) action;
+	}
+
+	//**fork抛出的RuntimeException和Error直接抛出，其它异常包装为RuntimeException
+	private static RuntimeException unwrap(Throwable cause) {
+		if (cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		if (cause instanceof Error)
+			throw (Error) cause;
+		return new RuntimeException(cause);
+	}
+}
@@ -0,0 +1,110 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ *********************************************************
+ ** @desc  ：源流的消费
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.2
+ **
+ ** V1.1 增加start，在生产者线程中消费源流  Pings 2026-10-17
+ ** V1.2 forEachParallel中Executor拒绝执行的部分在调用线程上消费  Pings 2026-10-17
+ * *******************************************************
+ */
+final class ForkSources {
+
+	/**
+	 *********************************************************
+	 ** @desc ：  在Executor的线程中消费源流，getResults不等待源流消费完；
+	 **          Executor拒绝执行时在调用线程上消费
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  production   消费源流并在结束后发布截止符
+	 ** @param  executor     执行fork的Executor
+	 * *******************************************************
+	 */
+	static void start(Runnable production, Executor executor) {
+		try {
+			executor.execute(production);
+		} catch (RejectedExecutionException e) {
+			production.run();
+		}
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  拆分源流，由多个生产者线程并行消费；所有生产者都结束后才返回，保证之后发布的截止符在最后
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  source      源流的Spliterator
+	 ** @param  producers   生产者线程数，即最多拆分的份数
+	 ** @param  executor    执行其它生产者的Executor，第一份和被拒绝执行的部分在调用线程上消费
+	 ** @param  action      消费其中一份，每份需要使用各自的发布端
+	 * *******************************************************
+	 */
+	@SuppressWarnings("unchecked")
+	static <S extends Spliterator<?>> void forEachParallel(S source, int producers, Executor executor, Consumer<S> action) {
+		//**按广度优先拆分，尽量使每一份的大小接近
+		List<S> parts = new ArrayList<>();
+		parts.add(source);
+		boolean split = true;
+		while (parts.size() < producers && split) {
+			split = false;
+			for (int i = 0, n = parts.size(); i < n && parts.size() < producers; i++) {
+				S prefix = (S) parts.get(i).trySplit();
+				if (prefix != null) {
+					parts.add(prefix);
+					split = true;
+				}
+			}
+		}
+
+		List<CompletableFuture<Void>> tasks = new ArrayList<>();
+		List<S> inline = new ArrayList<>();
+		inline.add(parts.get(0));
+		for (int i = 1; i < parts.size(); i++) {
+			S part = parts.get(i);
+			try {
+				tasks.add(CompletableFuture.runAsync(() -> action.accept(part), executor));
+			} catch (RejectedExecutionException e) {
+				inline.add(part);
+			}
+		}
+
+		//**失败后不再消费剩余的部分，但仍等待已提交的生产者结束
+		Throwable failure = null;
+		try {
+			for (S part : inline)
+				action.accept(part);
+		} catch (Throwable e) {
+			failure = e;
+		}
+
+		for (CompletableFuture<Void> task : tasks) {
+			try {
+				task.join();
+			} catch (CompletionException e) {
+				if (failure == null)
+					failure = e.getCause();
+				else if (failure != e.getCause())
+					failure.addSuppressed(e.getCause());
+			}
+		}
+
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+		if (failure != null)
+			throw new RuntimeException(failure);
+	}
+}
@@ -1,53 +1,44 @@
 package cn.pings.commons.stream.forker;
 
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Future;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  *********************************************************
  ** @desc  ：自定义Consumer对象
  ** @author  Pings                                     
  ** @date    2018年1月8日  
- ** @version v1.0                                            
+ ** @version v1.1
+ **
+ ** V1.1 元素的分发交给ForkBuffer，支持队列和环形缓冲区两种引擎  Pings 2026-10-17
  * *******************************************************
  */
-public class ForkingStreamConsumer<T> implements Consumer<T>, Results {
+public class ForkingStreamConsumer<T> extends ForkResults implements Consumer<T> {
 	
-	//**截止符，表示队列结尾
-	static final Object END_OF_STREAM = new Object();
-	//**队列，按顺序存放StreamForker->stream中的每个元素
-	private final List<BlockingQueue<T>> queues;
-	//**异步计算结果，存放StreamForker->forks中每个Lambda表达式的异步计算结果
-	private final Map<Object, Future<?>> actions;
+	//**分发缓冲区，按顺序存放StreamForker->stream中的每个元素
+	private final ForkBuffer<T> buffer;
 
-	ForkingStreamConsumer(List<BlockingQueue<T>> queues, Map<Object, Future<?>> actions) {
-		this.queues = queues;
-		this.actions = actions;
+	ForkingStreamConsumer(ForkBuffer<T> buffer, Map<Object, Future<?>> actions, Map<Object, ? extends Function<?, ?>> forks) {
+		//**异步计算结果，存放StreamForker->forks中每个Lambda表达式的异步计算结果
+		super(actions, forks, buffer::cancel);
+		this.buffer = buffer;
 	}
 
 	@Override
 	public void accept(T t) {
-		//**将流中遍历的元素添加到所有的队列中
-		queues.forEach(q -> q.add(t));
+		//**将流中遍历的元素发布到分发缓冲区
+		buffer.publish(t);
 	}
 
-	@SuppressWarnings("unchecked")
-	void finish() {
-		//**将截止符添加到队列中，表明该流已经结束
-		accept((T) END_OF_STREAM);
+	//**创建并发的发布端，用于并行消费源流
+	Consumer<T> newProducer() {
+		return buffer.newProducer();
 	}
 
-	@SuppressWarnings("unchecked")
-	@Override
-	public <R> R get(Object key) {
-		try {
-			//**等待Future完成相关的计算，返回由特定键标识的处理结果
-			return ((Future<R>) actions.get(key)).get();
-		} catch (Exception e) {
-			throw new RuntimeException(e);
-		}
+	void finish() {
+		//**发布截止符，表明该流已经结束
+		buffer.finish();
 	}
 }
@@ -0,0 +1,21 @@
+package cn.pings.commons.stream.forker;
+
+/**
+ *********************************************************
+ ** @desc  ：所有fork都已结束（正常结束、短路、异常或者取消），生产者不需要继续消费源流；
+ **          只用于中止源流的遍历，不记录堆栈
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+final class ForksClosedException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	static final ForksClosedException INSTANCE = new ForksClosedException();
+
+	private ForksClosedException() {
+		super("All forks are closed", null, false, false);
+	}
+}
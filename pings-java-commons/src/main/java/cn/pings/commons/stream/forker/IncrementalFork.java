@@ -0,0 +1,86 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ *********************************************************
+ ** @desc  ：增量发布结果的fork，使用Collector在fork线程中累积元素，
+ **          每隔指定的时间用finisher生成一次快照，通知监听器并保存为最近一次的快照
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+class IncrementalFork<T, A, R> implements Function<Stream<T>, R> {
+
+	//**每处理多少个元素检查一次是否到达发布时间，避免每个元素都读取时钟
+	private static final int CHECK_MASK = 63;
+
+	//**收集器
+	private final Collector<? super T, A, R> collector;
+	//**发布间隔（纳秒）
+	private final long intervalNanos;
+	//**监听器，在fork线程中调用
+	private final Consumer<? super R> listener;
+	//**最近一次发布的快照，尚未发布时为null
+	private volatile R snapshot;
+
+	IncrementalFork(Collector<? super T, A, R> collector, long interval, TimeUnit unit, Consumer<? super R> listener) {
+		if (interval <= 0)
+			throw new IllegalArgumentException("The interval must be a positive number");
+
+		this.collector = Objects.requireNonNull(collector);
+		this.intervalNanos = unit.toNanos(interval);
+		this.listener = Objects.requireNonNull(listener);
+	}
+
+	@Override
+	public R apply(Stream<T> stream) {
+		Accumulation accumulation = new Accumulation();
+		Spliterator<T> spliterator = stream.sequential().spliterator();
+		spliterator.forEachRemaining(accumulation);
+
+		//**流结束后发布最终结果
+		R result = collector.finisher().apply(accumulation.container);
+		publish(result);
+		return result;
+	}
+
+	//**最近一次发布的快照
+	R snapshot() {
+		return snapshot;
+	}
+
+	private void publish(R value) {
+		snapshot = value;
+		listener.accept(value);
+	}
+
+	//**累积元素，到达发布时间时生成快照
+	private class Accumulation implements Consumer<T> {
+
+		private final A container = collector.supplier().get();
+		private final BiConsumer<A, ? super T> accumulator = collector.accumulator();
+		private long count;
+		private long deadline = System.nanoTime() + intervalNanos;
+
+		@Override
+		public void accept(T t) {
+			accumulator.accept(container, t);
+			if ((++count & CHECK_MASK) == 0) {
+				long now = System.nanoTime();
+				if (now - deadline >= 0) {
+					publish(collector.finisher().apply(container));
+					deadline = now + intervalNanos;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,139 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ *********************************************************
+ ** @desc  ：为一个IntStream绑定多个Lambda表达式，元素以int[]按批次分发，全程不装箱
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class IntStreamForker extends AbstractPrimitiveStreamForker<IntStream, IntStreamForker> {
+
+	public IntStreamForker(IntStream stream) {
+		super(stream);
+	}
+
+	@Override
+	AbstractChunkSpliterator<?> newReader(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+		return new IntChunkSpliterator(q, onClose, size, ordered);
+	}
+
+	@Override
+	IntStream newStream(AbstractChunkSpliterator<?> reader) {
+		return StreamSupport.intStream((IntChunkSpliterator) reader, false);
+	}
+
+	@Override
+	ChunkProducer newProducer(ForkQueues queues, int batchSize) {
+		return new IntChunkProducer(queues, batchSize);
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc  ：生产者，把元素写入int[]
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	static class IntChunkProducer implements ChunkProducer, IntConsumer {
+
+		private final ForkQueues queues;
+		private final int batchSize;
+		private int[] chunk;
+		private int count;
+
+		IntChunkProducer(ForkQueues queues, int batchSize) {
+			this.queues = queues;
+			this.batchSize = batchSize;
+			this.chunk = new int[batchSize];
+		}
+
+		@Override
+		public void accept(int value) {
+			chunk[count++] = value;
+			if (count == batchSize) {
+				int[] full = chunk;
+				chunk = new int[batchSize];
+				count = 0;
+				queues.dispatch(full);
+			}
+		}
+
+		@Override
+		public void consume(Spliterator<?> source) {
+			((Spliterator.OfInt) source).forEachRemaining((IntConsumer) this);
+		}
+
+		@Override
+		public Object drain() {
+			int[] last = count > 0 ? Arrays.copyOf(chunk, count) : null;
+			count = 0;
+			return last;
+		}
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc  ：自定义Spliterator，遍历队列中的int[]
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	static class IntChunkSpliterator extends AbstractChunkSpliterator<int[]> implements Spliterator.OfInt {
+
+		IntChunkSpliterator(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+			super(q, onClose, size, ordered);
+		}
+
+		@Override
+		protected int length(int[] chunk) {
+			return chunk.length;
+		}
+
+		@Override
+		public boolean tryAdvance(IntConsumer action) {
+			if (!ensureChunk())
+				return false;
+
+			advanced(1);
+			action.accept(chunk[index++]);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(IntConsumer action) {
+			while (ensureChunk()) {
+				int[] a = chunk;
+				int to = length;
+				advanced(to - index);
+				for (int i = index; i < to; i++)
+					action.accept(a[i]);
+				index = to;
+			}
+		}
+
+		@Override
+		public Spliterator.OfInt trySplit() {
+			if (!prepareSplit())
+				return null;
+
+			//**交出当前数组剩余的部分
+			int from = index;
+			index = length;
+			advanced(length - from);
+			return Spliterators.spliterator(chunk, from, length, characteristics());
+		}
+	}
+}
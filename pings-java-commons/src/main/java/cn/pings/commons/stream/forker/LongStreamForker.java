@@ -0,0 +1,139 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ *********************************************************
+ ** @desc  ：为一个LongStream绑定多个Lambda表达式，元素以long[]按批次分发，全程不装箱
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class LongStreamForker extends AbstractPrimitiveStreamForker<LongStream, LongStreamForker> {
+
+	public LongStreamForker(LongStream stream) {
+		super(stream);
+	}
+
+	@Override
+	AbstractChunkSpliterator<?> newReader(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+		return new LongChunkSpliterator(q, onClose, size, ordered);
+	}
+
+	@Override
+	LongStream newStream(AbstractChunkSpliterator<?> reader) {
+		return StreamSupport.longStream((LongChunkSpliterator) reader, false);
+	}
+
+	@Override
+	ChunkProducer newProducer(ForkQueues queues, int batchSize) {
+		return new LongChunkProducer(queues, batchSize);
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc  ：生产者，把元素写入long[]
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	static class LongChunkProducer implements ChunkProducer, LongConsumer {
+
+		private final ForkQueues queues;
+		private final int batchSize;
+		private long[] chunk;
+		private int count;
+
+		LongChunkProducer(ForkQueues queues, int batchSize) {
+			this.queues = queues;
+			this.batchSize = batchSize;
+			this.chunk = new long[batchSize];
+		}
+
+		@Override
+		public void accept(long value) {
+			chunk[count++] = value;
+			if (count == batchSize) {
+				long[] full = chunk;
+				chunk = new long[batchSize];
+				count = 0;
+				queues.dispatch(full);
+			}
+		}
+
+		@Override
+		public void consume(Spliterator<?> source) {
+			((Spliterator.OfLong) source).forEachRemaining((LongConsumer) this);
+		}
+
+		@Override
+		public Object drain() {
+			long[] last = count > 0 ? Arrays.copyOf(chunk, count) : null;
+			count = 0;
+			return last;
+		}
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc  ：自定义Spliterator，遍历队列中的long[]
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	static class LongChunkSpliterator extends AbstractChunkSpliterator<long[]> implements Spliterator.OfLong {
+
+		LongChunkSpliterator(BlockingQueue<Object> q, Consumer<BlockingQueue<Object>> onClose, long size, boolean ordered) {
+			super(q, onClose, size, ordered);
+		}
+
+		@Override
+		protected int length(long[] chunk) {
+			return chunk.length;
+		}
+
+		@Override
+		public boolean tryAdvance(LongConsumer action) {
+			if (!ensureChunk())
+				return false;
+
+			advanced(1);
+			action.accept(chunk[index++]);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(LongConsumer action) {
+			while (ensureChunk()) {
+				long[] a = chunk;
+				int to = length;
+				advanced(to - index);
+				for (int i = index; i < to; i++)
+					action.accept(a[i]);
+				index = to;
+			}
+		}
+
+		@Override
+		public Spliterator.OfLong trySplit() {
+			if (!prepareSplit())
+				return null;
+
+			//**交出当前数组剩余的部分
+			int from = index;
+			index = length;
+			advanced(length - from);
+			return Spliterators.spliterator(chunk, from, length, characteristics());
+		}
+	}
+}
@@ -0,0 +1,17 @@
+package cn.pings.commons.stream.forker;
+
+/**
+ *********************************************************
+ ** @desc  ：有界队列已满时的处理策略
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public enum OverflowPolicy {
+
+	//**阻塞生产者，直到对应的fork消费出空位
+	BLOCK,
+	//**立即失败，抛出IllegalStateException
+	FAIL
+}
@@ -0,0 +1,114 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ *********************************************************
+ ** @desc  ：基于BlockingQueue的分发缓冲区，每个fork一个队列
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+class QueueForkBuffer<T> implements ForkBuffer<T> {
+
+	//**队列，按顺序存放StreamForker->stream中的每个元素；批量模式下存放元素数组
+	private final ForkQueues queues;
+	//**批量大小，每次向队列添加的元素个数，1表示逐个添加
+	private final int batchSize;
+	//**所有的发布端，结束时需要添加各自最后一个不完整的批次
+	private final List<Producer> producers = new CopyOnWriteArrayList<>();
+	//**生产者线程的发布端
+	private final Producer producer;
+
+	QueueForkBuffer(int capacity, OverflowPolicy overflowPolicy, int batchSize) {
+		this.queues = new ForkQueues(capacity, overflowPolicy);
+		this.batchSize = batchSize;
+		this.producer = new Producer();
+	}
+
+	@Override
+	public Reader<T> newReader(long size, boolean ordered) {
+		return new BlockingQueueSpliterator<>(queues.newQueue(), batchSize > 1, queues::release, size, ordered);
+	}
+
+	@Override
+	public void publish(T t) {
+		producer.accept(t);
+	}
+
+	@Override
+	public Consumer<T> newProducer() {
+		//**队列本身支持并发添加，每个发布端只需要维护各自的批次
+		return new Producer();
+	}
+
+	@Override
+	public void finish() {
+		//**最后一个不完整的批次同截止符一样阻塞添加
+		List<Object[]> lasts = new ArrayList<>();
+		for (Producer p : producers) {
+			Object[] last = p.drain();
+			if (last != null)
+				lasts.add(last);
+		}
+		queues.finish(lasts);
+	}
+
+	@Override
+	public void cancel() {
+		queues.cancel();
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc  ：发布端，维护各自尚未添加到队列的批次
+	 ** @author  Pings
+	 ** @date    2026年10月17日
+	 ** @version v1.0
+	 * *******************************************************
+	 */
+	private class Producer implements Consumer<T> {
+
+		//**当前批次中尚未添加到队列的元素
+		private Object[] batch;
+		private int batchCount;
+
+		Producer() {
+			if (batchSize > 1) {
+				batch = new Object[batchSize];
+				producers.add(this);
+			}
+		}
+
+		@Override
+		public void accept(T t) {
+			if (batch == null) {
+				//**将流中遍历的元素添加到所有的队列中
+				queues.dispatch(Objects.requireNonNull(t));
+				return;
+			}
+
+			//**批量模式，攒满一批后将同一个数组添加到所有的队列中，fork只读取数组，无需复制
+			batch[batchCount++] = Objects.requireNonNull(t);
+			if (batchCount == batchSize) {
+				Object[] full = batch;
+				batch = new Object[batchSize];
+				batchCount = 0;
+				queues.dispatch(full);
+			}
+		}
+
+		//**取出最后一个不完整的批次
+		Object[] drain() {
+			Object[] last = batchCount > 0 ? Arrays.copyOf(batch, batchCount) : null;
+			batchCount = 0;
+			return last;
+		}
+	}
+}
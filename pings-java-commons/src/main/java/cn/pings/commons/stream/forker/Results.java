@@ -1,14 +1,70 @@
 package cn.pings.commons.stream.forker;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 /**
  *********************************************************
  ** @desc  ：  结果对象                           
  ** @author  Pings                                     
  ** @date    2018年1月4日  
- ** @version v1.0                                                                                  
+ ** @version v1.2
+ **
+ ** V1.1 增加snapshot，获取增量fork最近一次发布的快照  Pings 2026-10-17
+ ** V1.2 增加限时获取和取消；fork抛出的RuntimeException直接抛出，不再包装  Pings 2026-10-17
  * *******************************************************
  */
 public interface Results {
 
+	/**
+	 *********************************************************
+	 ** @desc ：  等待fork结束，获取其返回值
+	 ** @author Pings
+	 ** @date   2018年1月4日
+	 ** @param  key   fork对应的key
+	 ** @return fork的返回值
+	 ** @throws java.util.concurrent.CancellationException 已取消
+	 ** @throws IllegalArgumentException key对应的fork不存在
+	 * *******************************************************
+	 */
 	public <R> R get(Object key);
+
+	/**
+	 *********************************************************
+	 ** @desc ：  在指定的时间内等待fork结束，获取其返回值；超时不会取消fork
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  key       fork对应的key
+	 ** @param  timeout   最长等待时间
+	 ** @param  unit      时间单位
+	 ** @return fork的返回值
+	 ** @throws TimeoutException 等待超时
+	 ** @throws java.util.concurrent.CancellationException 已取消
+	 ** @throws IllegalArgumentException key对应的fork不存在
+	 * *******************************************************
+	 */
+	public <R> R get(Object key, long timeout, TimeUnit unit) throws TimeoutException;
+
+	/**
+	 *********************************************************
+	 ** @desc ：  取消所有fork：未结束的fork不再处理剩余的元素，立即释放各个队列（缓冲区）中的元素，
+	 **          之后get抛出CancellationException
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 * *******************************************************
+	 */
+	public void cancel();
+
+	/**
+	 *********************************************************
+	 ** @desc ：  获取增量fork最近一次发布的快照，不等待fork结束，
+	 **          参考{@link StreamForker#fork(Object, java.util.stream.Collector, long, java.util.concurrent.TimeUnit, java.util.function.Consumer)}
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  key   fork对应的key
+	 ** @return 最近一次发布的快照，尚未发布时为null
+	 ** @throws IllegalArgumentException key对应的fork不是增量fork
+	 * *******************************************************
+	 */
+	public <R> R snapshot(Object key);
 }
@@ -0,0 +1,262 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ *********************************************************
+ ** @desc  ：多消费者的环形缓冲区，所有fork共享一个预分配的数组，
+ **          每个元素只发布一次，每个fork维护各自的读取序号，无锁、无节点分配
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.2
+ **
+ ** V1.1 支持多生产者，通过CAS申请序号，每个位置记录已发布的轮次  Pings 2026-10-17
+ ** V1.2 支持取消；所有fork都已结束时中止生产者  Pings 2026-10-17
+ * *******************************************************
+ */
+class RingBuffer<T> implements ForkBuffer<T> {
+
+	//**未指定容量时的默认大小
+	static final int DEFAULT_CAPACITY = 8192;
+
+	//**预分配的数组，大小为2的幂
+	private final Object[] entries;
+	private final int mask;
+	//**缓冲区已满时的处理策略
+	private final OverflowPolicy overflowPolicy;
+	//**单生产者时为已发布的最大序号，多生产者时为已申请的最大序号
+	private final Sequence cursor = new Sequence(-1);
+	//**各个fork已读取的序号，生产者不能覆盖任何一个fork尚未读取的位置
+	private volatile Sequence[] gating = new Sequence[0];
+	//**生产者下一个要写入的序号，只由生产者线程访问
+	private long next;
+	//**缓存的最小已读取序号，只有即将追上时才重新读取所有fork的序号
+	private long cachedGating = -1;
+
+	//**是否支持多生产者
+	private final boolean multiProducer;
+	//**多生产者时每个位置已发布的轮次（序号 >>> indexShift）
+	private final AtomicIntegerArray published;
+	private final int indexShift;
+	//**多生产者时共享的最小已读取序号缓存
+	private final Sequence gatingCache = new Sequence(-1);
+
+	//**是否已经开始发布截止符，之后即使所有fork都已结束也不中止
+	private boolean finishing;
+	//**是否已取消
+	private volatile boolean cancelled;
+
+	RingBuffer(int capacity, OverflowPolicy overflowPolicy, boolean multiProducer) {
+		int size = capacity > 0 ? ceilingPowerOfTwo(capacity) : DEFAULT_CAPACITY;
+		this.entries = new Object[size];
+		this.mask = size - 1;
+		this.overflowPolicy = overflowPolicy;
+		this.multiProducer = multiProducer;
+		this.indexShift = Integer.numberOfTrailingZeros(size);
+		if (multiProducer) {
+			//**初始为-1，避免第0轮的位置被误认为已发布
+			this.published = new AtomicIntegerArray(size);
+			for (int i = 0; i < size; i++)
+				published.lazySet(i, -1);
+		} else {
+			this.published = null;
+		}
+	}
+
+	@Override
+	public synchronized Reader<T> newReader(long size, boolean ordered) {
+		Sequence sequence = new Sequence(cursor.get());
+		Sequence[] sequences = Arrays.copyOf(gating, gating.length + 1);
+		sequences[sequences.length - 1] = sequence;
+		gating = sequences;
+
+		return new RingBufferSpliterator<>(this, sequence, size, ordered);
+	}
+
+	@Override
+	public void publish(T t) {
+		Objects.requireNonNull(t);
+		if (multiProducer) {
+			publishConcurrently(t, overflowPolicy == OverflowPolicy.FAIL);
+			return;
+		}
+
+		claim(overflowPolicy == OverflowPolicy.FAIL);
+		entries[(int) next & mask] = t;
+		cursor.setOrdered(next++);
+	}
+
+	@Override
+	public Consumer<T> newProducer() {
+		if (!multiProducer)
+			throw new IllegalStateException("The ring buffer is single producer");
+		return this::publish;
+	}
+
+	@Override
+	public void finish() {
+		finishing = true;
+		if (multiProducer) {
+			publishConcurrently(END_OF_STREAM, false);
+			return;
+		}
+
+		claim(false);
+		entries[(int) next & mask] = END_OF_STREAM;
+		cursor.setOrdered(next++);
+	}
+
+	//**多生产者发布：申请序号，写入元素，再标记该位置本轮已发布
+	private void publishConcurrently(Object t, boolean failFast) {
+		long sequence = failFast ? tryClaimConcurrently() : claimConcurrently();
+		int index = (int) sequence & mask;
+		entries[index] = t;
+		published.lazySet(index, (int) (sequence >>> indexShift));
+	}
+
+	//**申请一个序号，等待所有fork都已读取该位置上一轮的元素
+	private long claimConcurrently() {
+		long sequence = cursor.incrementAndGet();
+		long wrapPoint = sequence - entries.length;
+
+		int counter = 0;
+		while (wrapPoint > gatingCache.get()) {
+			checkOpen();
+			long min = Sequence.minimum(gating, sequence - 1);
+			if (wrapPoint <= min) {
+				gatingCache.setOrdered(min);
+				break;
+			}
+			counter = idle(counter);
+		}
+		return sequence;
+	}
+
+	//**申请一个序号，缓冲区已满时不申请，直接失败
+	private long tryClaimConcurrently() {
+		while (true) {
+			long current = cursor.get();
+			long sequence = current + 1;
+			long wrapPoint = sequence - entries.length;
+			if (wrapPoint > gatingCache.get()) {
+				checkOpen();
+				long min = Sequence.minimum(gating, current);
+				if (wrapPoint > min)
+					throw new IllegalStateException("The ring buffer is full, capacity: " + entries.length);
+				gatingCache.setOrdered(min);
+			}
+			if (cursor.compareAndSet(current, sequence))
+				return sequence;
+		}
+	}
+
+	//**等待下一个位置可写，即所有fork都已读取该位置上一轮的元素
+	private void claim(boolean failFast) {
+		long wrapPoint = next - entries.length;
+		if (wrapPoint <= cachedGating)
+			return;
+		checkOpen();
+
+		long min;
+		int counter = 0;
+		while (wrapPoint > (min = Sequence.minimum(gating, next - 1))) {
+			if (failFast)
+				throw new IllegalStateException("The ring buffer is full, capacity: " + entries.length);
+			counter = idle(counter);
+		}
+		cachedGating = min;
+	}
+
+	//**生产者只在即将追上缓存的最小读取序号时检查，所有fork都已结束时中止源流的遍历
+	private void checkOpen() {
+		if (!finishing && gating.length == 0)
+			throw ForksClosedException.INSTANCE;
+	}
+
+	@Override
+	public synchronized void cancel() {
+		cancelled = true;
+		gating = new Sequence[0];
+	}
+
+	boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  等待指定序号的元素发布
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  sequence   需要读取的序号
+	 ** @return 已发布的最大序号，>= sequence；已取消时返回sequence - 1
+	 * *******************************************************
+	 */
+	long waitFor(long sequence) {
+		long available;
+		int counter = 0;
+		while ((available = cursor.get()) < sequence) {
+			if (cancelled)
+				return sequence - 1;
+			counter = idle(counter);
+		}
+		if (!multiProducer)
+			return available;
+
+		//**多生产者时序号申请和写入不是原子的，返回从sequence开始连续已发布的最大序号
+		while (!isPublished(sequence)) {
+			if (cancelled)
+				return sequence - 1;
+			counter = idle(counter);
+		}
+		for (long s = sequence + 1; s <= available; s++) {
+			if (!isPublished(s))
+				return s - 1;
+		}
+		return available;
+	}
+
+	private boolean isPublished(long sequence) {
+		return published.get((int) sequence & mask) == (int) (sequence >>> indexShift);
+	}
+
+	Object get(long sequence) {
+		return entries[(int) sequence & mask];
+	}
+
+	//**fork结束后移除其序号，生产者不再等待该fork
+	synchronized void release(Sequence sequence) {
+		Sequence[] sequences = gating;
+		for (int i = 0; i < sequences.length; i++) {
+			if (sequences[i] == sequence) {
+				Sequence[] remain = new Sequence[sequences.length - 1];
+				System.arraycopy(sequences, 0, remain, 0, i);
+				System.arraycopy(sequences, i + 1, remain, i, sequences.length - i - 1);
+				gating = remain;
+				return;
+			}
+		}
+	}
+
+	//**等待策略：先自旋，再让出CPU，最后短暂休眠
+	static int idle(int counter) {
+		if (counter < 100) {
+			return counter + 1;
+		} else if (counter < 200) {
+			Thread.yield();
+			return counter + 1;
+		}
+		LockSupport.parkNanos(100_000L);
+		return counter;
+	}
+
+	private static int ceilingPowerOfTwo(int capacity) {
+		if (capacity > 1 << 30)
+			throw new IllegalArgumentException("The capacity is too large: " + capacity);
+		return capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+	}
+}
@@ -0,0 +1,87 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.function.Consumer;
+
+/**
+ *********************************************************
+ ** @desc  ：自定义Spliterator，按各自的读取序号遍历RingBuffer
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class RingBufferSpliterator<T> extends AbstractForkReader<T> {
+
+	//**批量处理时检查是否已取消的间隔
+	private static final int CANCEL_CHECK_MASK = 63;
+
+	//**需要遍历的环形缓冲区
+	private final RingBuffer<T> ring;
+	//**已读取的序号，生产者据此判断是否可以覆盖
+	private final Sequence sequence;
+	//**下一个要读取的序号
+	private long next;
+	//**缓存的已发布的最大序号
+	private long available;
+
+	RingBufferSpliterator(RingBuffer<T> ring, Sequence sequence, long size, boolean ordered) {
+		super(size, ordered);
+		this.ring = ring;
+		this.sequence = sequence;
+		this.next = sequence.get() + 1;
+		this.available = sequence.get();
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean tryAdvance(Consumer<? super T> action) {
+		if (isDone() || ring.isCancelled())
+			return false;
+
+		if (next > available && (available = ring.waitFor(next)) < next) {
+			ended();
+			return false;
+		}
+
+		Object t = ring.get(next);
+		if (t == ForkBuffer.END_OF_STREAM) {
+			ended();
+			return false;
+		}
+
+		advanced();
+		action.accept((T) t);
+		sequence.setOrdered(next++);
+		return true;
+	}
+
+	/**一次处理所有已发布的元素，处理完一批后才更新读取序号*/
+	@Override
+	@SuppressWarnings("unchecked")
+	public void forEachRemaining(Consumer<? super T> action) {
+		while (!isDone()) {
+			//**已取消时不再处理剩余的元素
+			if (ring.isCancelled() || next > available && (available = ring.waitFor(next)) < next) {
+				ended();
+				break;
+			}
+
+			for (; next <= available; next++) {
+				Object t = ring.get(next);
+				//**一批可能有整个缓冲区那么多的元素，每64个元素检查一次是否已取消
+				if (t == ForkBuffer.END_OF_STREAM || (next & CANCEL_CHECK_MASK) == 0 && ring.isCancelled()) {
+					ended();
+					break;
+				}
+				action.accept((T) t);
+			}
+			sequence.setOrdered(next - 1);
+		}
+	}
+
+	@Override
+	public void close() {
+		ended();
+		ring.release(sequence);
+	}
+}
@@ -0,0 +1,58 @@
+package cn.pings.commons.stream.forker;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ *********************************************************
+ ** @desc  ：环形缓冲区的序号，前后填充避免与其它序号位于同一缓存行（伪共享）
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+class Sequence {
+
+	private static final AtomicLongFieldUpdater<Sequence> UPDATER = AtomicLongFieldUpdater.newUpdater(Sequence.class, "value");
+
+	//**同类型字段按声明顺序排列，前后各56字节填充
+	protected long p1, p2, p3, p4, p5, p6, p7;
+	private volatile long value;
+	protected long p9, p10, p11, p12, p13, p14, p15;
+
+	Sequence(long initial) {
+		this.value = initial;
+	}
+
+	long get() {
+		return value;
+	}
+
+	/**有序写入，保证之前的写操作对读取该序号的线程可见，开销低于volatile写*/
+	void setOrdered(long value) {
+		UPDATER.lazySet(this, value);
+	}
+
+	boolean compareAndSet(long expect, long update) {
+		return UPDATER.compareAndSet(this, expect, update);
+	}
+
+	long incrementAndGet() {
+		return UPDATER.incrementAndGet(this);
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  获取多个序号中的最小值
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  sequences   序号
+	 ** @param  minimum     没有序号时返回的值
+	 ** @return 最小值
+	 * *******************************************************
+	 */
+	static long minimum(Sequence[] sequences, long minimum) {
+		for (Sequence s : sequences)
+			minimum = Math.min(minimum, s.get());
+		return minimum;
+	}
+}
@@ -1,11 +1,14 @@
 package cn.pings.commons.stream.forker;
 
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -14,7 +17,10 @@ import java.util.stream.StreamSupport;
  ** @desc  ：  为一个流绑定多个Lambda表达式                                       
  ** @author  Pings                                     
  ** @date    2018年1月8日  
- ** @version v1.0                                            
+ ** @version v1.2
+ **
+ ** V1.1 getResults立即返回，源流在生产者线程中消费  Pings 2026-10-17
+ ** V1.2 默认仍在调用线程上消费源流，只有增量fork或者调用async时使用生产者线程  Pings 2026-10-17
  * *******************************************************
  */
 public class StreamForker<T> {
@@ -23,11 +29,156 @@ public class StreamForker<T> {
 	private final Stream<T> stream;
 	//**需要绑定的多个Lambda表达式
 	private final Map<Object, Function<Stream<T>, ?>> forks = new HashMap<>();
+	//**每个fork的队列容量，<=0表示无界
+	private int capacity;
+	//**有界队列已满时的处理策略
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+	//**批量大小，生产者每次向队列添加的元素个数
+	private int batchSize = 1;
+	//**分发引擎
+	private ForkEngine engine = ForkEngine.QUEUE;
+	//**执行fork的Executor，默认每个fork使用一个新线程
+	private Executor executor;
+	//**并行消费源流的生产者线程数，1表示顺序消费
+	private int producers = 1;
+	//**是否在生产者线程中消费源流
+	private boolean async;
 
 	public StreamForker(Stream<T> stream) {
 		this.stream = stream;
 	}
 
+	/**
+	 *********************************************************
+	 ** @desc ：  使用有界队列，队列已满时阻塞生产者，保证内存占用不随流的大小增长
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  capacity   每个fork的队列容量
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> bounded(int capacity) {
+		return bounded(capacity, OverflowPolicy.BLOCK);
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  使用有界队列，保证内存占用不随流的大小增长
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  capacity         每个fork的队列容量
+	 ** @param  overflowPolicy   队列已满时的处理策略
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> bounded(int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("The capacity must be a positive integer");
+
+		this.capacity = capacity;
+		this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+		return this;
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  批量添加元素，生产者攒满一批后以数组的形式添加到队列，fork按批次取出，
+	 **          每个元素的加锁次数降低为原来的1/batchSize；
+	 **          注意：使用有界队列时，队列容量为批次的个数
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  batchSize   批量大小，1表示逐个添加
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> batchSize(int batchSize) {
+		if (batchSize <= 0)
+			throw new IllegalArgumentException("The batch size must be a positive integer");
+
+		this.batchSize = batchSize;
+		return this;
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  指定分发引擎，默认为{@link ForkEngine#QUEUE}；
+	 **          {@link ForkEngine#RING_BUFFER}总是有界的，容量为bounded指定的值向上取2的幂，
+	 **          未指定时为8192，batchSize对其无效
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  engine   分发引擎
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> engine(ForkEngine engine) {
+		this.engine = Objects.requireNonNull(engine);
+		return this;
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  指定执行fork和生产者的Executor，默认每个任务使用一个新的守护线程；
+	 **          每个fork在整个流处理期间都会阻塞一个线程，Executor必须能同时运行所有的fork和生产者，
+	 **          否则未启动的fork会导致生产者一直等待，参考{@link ForkExecutors}；
+	 **          拒绝执行生产者时在调用getResults的线程上消费
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  executor   Executor
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> executor(Executor executor) {
+		this.executor = Objects.requireNonNull(executor);
+		return this;
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  每个fork使用指定的线程工厂创建一个新线程
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  threadFactory   线程工厂
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> threadFactory(ThreadFactory threadFactory) {
+		return executor(ForkExecutors.threadPerFork(Objects.requireNonNull(threadFactory)));
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  使用多个生产者线程并行消费源流，源流按其Spliterator拆分为最多producers份，
+	 **          同步消费时一份在调用线程上消费，其余的在fork的Executor上消费（Executor需要能同时运行所有的fork和生产者）；
+	 **          并行模式下fork中元素的顺序与源流不一致
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  producers   生产者线程数，1表示顺序消费
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> parallel(int producers) {
+		if (producers <= 0)
+			throw new IllegalArgumentException("The producers must be a positive integer");
+
+		this.producers = producers;
+		return this;
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  在生产者线程中消费源流，getResults不等待源流消费完就返回，之后可以限时获取、取消或者读取快照；
+	 **          默认在调用getResults的线程上消费源流，JDBC游标、ThreadLocal等绑定调用线程的源流不应使用；
+	 **          绑定了增量fork时自动使用生产者线程
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @return 自身
+	 * *******************************************************
+	 */
+	public StreamForker<T> async() {
+		this.async = true;
+		return this;
+	}
+
 	/**
 	 *********************************************************
 	 ** @desc ：  绑定多个Lambda表达式                                         
@@ -47,23 +198,63 @@ public class StreamForker<T> {
 
 	/**
 	 *********************************************************
-	 ** @desc ：  获取返回结果（异步）                                         
+	 ** @desc ：  绑定增量发布结果的收集器，fork处理元素的过程中每隔interval用finisher生成一次快照，
+	 **          在fork线程中通知listener，也可以通过{@link Results#snapshot(Object)}读取最近一次的快照；
+	 **          流结束后发布最终结果，最终结果同样可以通过{@link Results#get(Object)}获取；
+	 **          注意：finisher直接返回累积容器的收集器（如toList）的快照会被fork线程继续修改，不应在其它线程读取
+	 ** @author Pings
+	 ** @date   2026年10月17日
+	 ** @param  key         Lambda表达式对应的key，用于获取返回值
+	 ** @param  collector   收集器，如counting、summingLong
+	 ** @param  interval    发布间隔
+	 ** @param  unit        发布间隔的单位
+	 ** @param  listener    快照监听器
+	 ** @return 自身，保证多次调用fork方法
+	 * *******************************************************
+	 */
+	public <A, R> StreamForker<T> fork(Object key, Collector<? super T, A, R> collector, long interval, TimeUnit unit, Consumer<? super R> listener) {
+		return fork(key, new IncrementalFork<>(collector, interval, unit, listener));
+	}
+
+	/**
+	 *********************************************************
+	 ** @desc ：  获取返回结果（异步），默认在调用线程上消费完源流后返回；
+	 **          调用了async或者绑定了增量fork时源流在生产者线程中消费，不等待源流消费完就返回；
+	 **          消费源流失败时get抛出该异常
 	 ** @author Pings                                    
 	 ** @date   2018年1月4日                                      
 	 ** @return 结果对象                                             
 	 * *******************************************************
 	 */
 	public Results getResults() {
+		//**源流的Spliterator，fork的读取端据此提供元素个数和顺序
+		Spliterator<T> source = producers > 1 ? stream.parallel().spliterator() : stream.sequential().spliterator();
 		//**创建ForkingStreamConsumer对象
-		ForkingStreamConsumer<T> consumer = build();
-		try {
-			//**把stream中的每个对象分发到ForkingStreamConsumer->queues的每个BlockingQueue中
-			stream.sequential().forEach(consumer);
-		} finally {
-			//**在ForkingStreamConsumer->queues的每个BlockingQueue的末尾存在特殊对象（表示队列结尾）
-			consumer.finish();
-		}
-		
+		ForkingStreamConsumer<T> consumer = build(source.getExactSizeIfKnown(), producers == 1 && source.hasCharacteristics(Spliterator.ORDERED));
+		Executor executor = resolveExecutor();
+		Runnable production = () -> {
+			try {
+				//**把stream中的每个对象发布到ForkingStreamConsumer->buffer中
+				if (producers > 1)
+					ForkSources.forEachParallel(source, producers, executor, part -> part.forEachRemaining(consumer.newProducer()));
+				else
+					source.forEachRemaining(consumer);
+			} catch (ForksClosedException e) {
+				//**所有fork都已结束，不再消费剩余的元素
+			} catch (Throwable e) {
+				//**在截止符之前记录异常，fork结束后get抛出该异常
+				consumer.fail(e);
+			} finally {
+				//**在ForkingStreamConsumer->buffer的末尾发布特殊对象（表示流的结尾）
+				consumer.finish();
+			}
+		};
+
+		//**增量fork的快照需要在源流消费期间读取，此时getResults必须立即返回
+		if (async || forks.values().stream().anyMatch(f -> f instanceof IncrementalFork))
+			ForkSources.start(production, executor);
+		else
+			production.run();
 		return consumer;
 	}
 	
@@ -72,25 +263,42 @@ public class StreamForker<T> {
 	 ** @desc ：  创建ForkingStreamConsumer对象                                           
 	 ** @author Pings                                    
 	 ** @date   2018年1月8日                                      
+	 ** @param  size      源流的元素个数，-1表示未知
+	 ** @param  ordered   fork中元素的顺序是否与源流一致
 	 ** @return ForkingStreamConsumer                                             
 	 * *******************************************************
 	 */
-	private ForkingStreamConsumer<T> build() {
-		//**创建由队列组成的列表，每一个队列对应一个操作
-		List<BlockingQueue<T>> queues = new ArrayList<>();
+	private ForkingStreamConsumer<T> build(long size, boolean ordered) {
+		//**创建分发缓冲区，每个操作对应一个读取端
+		ForkBuffer<T> buffer = engine == ForkEngine.RING_BUFFER
+				? new RingBuffer<>(capacity, overflowPolicy, producers > 1)
+				: new QueueForkBuffer<>(capacity, overflowPolicy, batchSize);
+		Executor executor = resolveExecutor();
 		//**建立用于标识操作的键与包含操作结果的Future之间的映射关系
-		Map<Object, Future<?>> actions = forks.entrySet().stream().reduce(new HashMap<Object, Future<?>>(),
-				(map, e) -> {
-					map.put(e.getKey(), getOperationResult(queues, e.getValue()));
-					return map;
-				}, (m1, m2) -> {
-					m1.putAll(m2);
-					return m1;
-				}
-		);
-		return new ForkingStreamConsumer<>(queues, actions);
+		Map<Object, Future<?>> actions;
+		try {
+			actions = forks.entrySet().stream().reduce(new HashMap<Object, Future<?>>(),
+					(map, e) -> {
+						map.put(e.getKey(), getOperationResult(buffer.newReader(size, ordered), executor, e.getValue()));
+						return map;
+					}, (m1, m2) -> {
+						m1.putAll(m2);
+						return m1;
+					}
+			);
+		} catch (RuntimeException e) {
+			//**Executor拒绝执行时，结束已经启动的fork
+			buffer.finish();
+			throw e;
+		}
+		return new ForkingStreamConsumer<>(buffer, actions, forks);
 	}
 	
+	//**未指定Executor时每个任务使用一个新的守护线程
+	private Executor resolveExecutor() {
+		return executor != null ? executor : ForkExecutors.threadPerFork(ForkExecutors.defaultThreadFactory());
+	}
+
 	/**
 	 *********************************************************
 	 ** @desc ：  异步执行指定的Lambda表达式                                     
@@ -99,16 +307,17 @@ public class StreamForker<T> {
 	 ** @return 异步计算结果                                             
 	 * *******************************************************
 	 */
-	private Future<?> getOperationResult(List<BlockingQueue<T>> queues, Function<Stream<T>, ?> f) {
-		//**创建一个队列，并将其添加到队列的列表中
-		BlockingQueue<T> queue = new LinkedBlockingQueue<>();
-		queues.add(queue);
-		
-		//**创建Spliterator，用于遍历BlockingQueue对象
-		Spliterator<T> spliterator = new BlockingQueueSpliterator<>(queue);
-		//**创建流
-		Stream<T> source = StreamSupport.stream(spliterator, false);
+	private Future<?> getOperationResult(ForkBuffer.Reader<T> reader, Executor executor, Function<Stream<T>, ?> f) {
+		//**使用读取端（Spliterator）创建流
+		Stream<T> source = StreamSupport.stream(reader, false);
 		//**创建Future对象， 在流上执行以异步方式计算Lambda表达式
-		return CompletableFuture.supplyAsync(() -> f.apply(source));
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return f.apply(source);
+			} finally {
+				//**fork结束（正常结束、短路或者异常）后不再需要剩余的元素，释放读取端，避免生产者阻塞或者继续堆积
+				reader.close();
+			}
+		}, executor);
 	}
 }
@@ -0,0 +1,241 @@
+package cn.pings.commons.util.net;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ *********************************************************
+ ** @desc  ：  预编译的请求地址排除规则，创建后不可变，可以在多个线程中共享
+ **            支持的规则：
+ **            1.扩展名：*.js、*.css，请求地址以该后缀结尾
+ **            2.路径：/api/v?/users、/report/*.xls，*匹配路径中的一段（不含/），?匹配一个字符（不含/）；
+ **              不含通配符的路径按前缀匹配，与原来NetworkUtil.isExclusion的find一致，/druid等价于/druid/**，
+ **              匹配/druid和/druid/index.html，不匹配/druidx
+ **            3.任意层级：/static/**、/druid/*，**作为路径中的一段时匹配任意层级（包括0层），
+ **              末尾的/*与原来的NetworkUtil.isExclusion一样匹配任意层级，/*排除所有请求
+ **            不以/开头的路径规则按以/开头处理
+ **            扩展名规则编译为倒序的字符前缀树，路径规则编译为字符前缀树，匹配时逐字符查找，
+ **            只在通配符处回溯，不编译正则表达式，不分配对象
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.1
+ **
+ ** V1.1 不含通配符的路径规则按路径前缀匹配  Pings 2026-10-17
+ * *******************************************************
+ */
+public final class ExclusionMatcher {
+
+    //**扩展名规则，按倒序的字符保存
+    private final Node suffixes = new Node();
+    //**路径规则
+    private final Node paths = new Node();
+    //**是否排除所有请求
+    private boolean matchAll;
+
+    private ExclusionMatcher() {
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  编译排除规则
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  patterns   规则，忽略空白的规则
+     ** @return 匹配器
+     * *******************************************************
+     */
+    public static ExclusionMatcher compile(Collection<String> patterns) {
+        ExclusionMatcher matcher = new ExclusionMatcher();
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.trim().isEmpty())
+                continue;
+            matcher.add(pattern.trim());
+        }
+        return matcher;
+    }
+
+    /**编译逗号分隔的排除规则*/
+    public static ExclusionMatcher compile(String patterns) {
+        return compile(Arrays.asList(patterns.split("\\s*,\\s*")));
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  请求地址是否匹配任意一条规则
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  requestURI   请求地址，不含查询字符串
+     ** @return 是否匹配
+     * *******************************************************
+     */
+    public boolean matches(String requestURI) {
+        if (matchAll)
+            return true;
+        if (requestURI == null)
+            return false;
+
+        return matchSuffix(requestURI) || matchPath(paths, requestURI, 0);
+    }
+
+    private void add(String pattern) {
+        if ("*".equals(pattern) || "/**".equals(pattern) || "**".equals(pattern)) {
+            matchAll = true;
+            return;
+        }
+
+        //**任意层级下的扩展名（如/**下的*.map）等价于扩展名规则，避免在每个/处回溯
+        String suffix = pattern.startsWith("/**/*") ? pattern.substring(5)
+                : pattern.startsWith("**/*") ? pattern.substring(4)
+                : pattern.startsWith("*") ? pattern.substring(1) : null;
+
+        //**扩展名规则：*之后没有/和通配符
+        if (suffix != null && !suffix.isEmpty() && suffix.indexOf('/') < 0 && suffix.indexOf('*') < 0 && suffix.indexOf('?') < 0) {
+            Node node = suffixes;
+            for (int i = suffix.length() - 1; i >= 0; i--)
+                node = node.literal(suffix.charAt(i));
+            node.terminal = true;
+            return;
+        }
+
+        if (!pattern.startsWith("/"))
+            pattern = "/" + pattern;
+
+        //**不含通配符的路径按前缀匹配：/druid、/druid/等价于/druid/**
+        boolean prefix = pattern.indexOf('*') < 0 && pattern.indexOf('?') < 0;
+        if (prefix) {
+            while (pattern.endsWith("/"))
+                pattern = pattern.substring(0, pattern.length() - 1);
+            if (pattern.isEmpty()) {
+                matchAll = true;
+                return;
+            }
+        }
+
+        String[] segments = pattern.substring(1).split("/", -1);
+        Node node = paths;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean last = i == segments.length - 1;
+
+            //**末尾的/*兼容原来的行为，匹配任意层级
+            if ("**".equals(segment) || last && "*".equals(segment)) {
+                node = node.anyDepth();
+                continue;
+            }
+
+            node = node.literal('/');
+            for (int j = 0; j < segment.length(); j++) {
+                char c = segment.charAt(j);
+                if (c == '*')
+                    node = node.star();
+                else if (c == '?')
+                    node = node.any();
+                else
+                    node = node.literal(c);
+            }
+        }
+        node.terminal = true;
+        if (prefix)
+            node.anyDepth().terminal = true;
+    }
+
+    //**从末尾开始逐字符查找扩展名
+    private boolean matchSuffix(String uri) {
+        Node node = suffixes;
+        for (int i = uri.length() - 1; i >= 0; i--) {
+            node = node.child(uri.charAt(i));
+            if (node == null)
+                return false;
+            if (node.terminal)
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean matchPath(Node node, String uri, int pos) {
+        int length = uri.length();
+        while (true) {
+            if (pos == length && node.terminal)
+                return true;
+
+            //**通配符需要回溯
+            if (node.star != null) {
+                int end = pos;
+                while (true) {
+                    if (matchPath(node.star, uri, end))
+                        return true;
+                    if (end == length || uri.charAt(end) == '/')
+                        break;
+                    end++;
+                }
+            }
+            if (node.anyDepth != null) {
+                //**匹配空串或者以/开头的任意字符串
+                if (matchPath(node.anyDepth, uri, pos))
+                    return true;
+                if (pos < length && uri.charAt(pos) == '/') {
+                    for (int end = pos + 1; end <= length; end++) {
+                        if (matchPath(node.anyDepth, uri, end))
+                            return true;
+                    }
+                }
+            }
+            if (node.any != null && pos < length && uri.charAt(pos) != '/' && matchPath(node.any, uri, pos + 1))
+                return true;
+
+            //**普通字符不回溯
+            if (pos == length)
+                return false;
+            node = node.child(uri.charAt(pos++));
+            if (node == null)
+                return false;
+        }
+    }
+
+    //**前缀树的节点
+    private static final class Node {
+        //**普通字符的子节点，按字符排序
+        private char[] chars = new char[0];
+        private Node[] children = new Node[0];
+        //**通配符的子节点：*、?、**
+        private Node star, any, anyDepth;
+        //**是否为某条规则的结尾
+        private boolean terminal;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node literal(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            if (index >= 0)
+                return children[index];
+
+            index = -index - 1;
+            char[] newChars = new char[chars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            newChars[index] = c;
+            newChildren[index] = new Node();
+            chars = newChars;
+            children = newChildren;
+            return newChildren[index];
+        }
+
+        Node star() {
+            return star == null ? star = new Node() : star;
+        }
+
+        Node any() {
+            return any == null ? any = new Node() : any;
+        }
+
+        Node anyDepth() {
+            return anyDepth == null ? anyDepth = new Node() : anyDepth;
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package cn.pings.commons.util.net;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ *********************************************************
+ ** @desc  ：  预编译的IP匹配规则，创建后不可变，可以在多个线程中共享
+ **            支持的规则（IPv4和IPv6）：
+ **            1.单个地址：192.168.2.91、2001:db8::1
+ **            2.CIDR：192.168.0.0/16、2001:db8::/32
+ **            3.范围：192.168.1.10-192.168.1.20、2001:db8::1-2001:db8::ff
+ **            4.IPv4通配符：192.168.*.*、192.168.*、*.*.*.*、*，通配符不在末尾时按掩码匹配，如192.*.2.*
+ **            其它规则与NetworkUtil.matchIp一样作为正则表达式匹配，只在创建时编译一次
+ **            地址、CIDR和末尾的通配符合并为有序且不相交的区间，匹配时解析IP并二分查找，不分配对象，
+ **            规则数量对匹配时间的影响只有log(n)
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public final class IpMatcher {
+
+    private static final long V4_MASK = 0xFFFFFFFFL;
+
+    //**是否匹配所有IP
+    private final boolean matchAll;
+    //**IPv4区间，按起始地址排序且不相交
+    private final long[] v4Starts;
+    private final long[] v4Ends;
+    //**通配符不在末尾的IPv4规则：(ip & mask) == value
+    private final int[] v4Values;
+    private final int[] v4Masks;
+    //**IPv6区间，地址的高64位和低64位分开保存，按起始地址排序且不相交
+    private final long[] v6StartHis;
+    private final long[] v6StartLos;
+    private final long[] v6EndHis;
+    private final long[] v6EndLos;
+    //**无法解析为地址的规则
+    private final Pattern[] patterns;
+
+    private IpMatcher(boolean matchAll, List<long[]> v4Ranges, List<int[]> v4MaskRules, List<long[]> v6Ranges, List<Pattern> patterns) {
+        this.matchAll = matchAll;
+
+        v4Ranges = merge(v4Ranges);
+        this.v4Starts = new long[v4Ranges.size()];
+        this.v4Ends = new long[v4Ranges.size()];
+        for (int i = 0; i < v4Ranges.size(); i++) {
+            this.v4Starts[i] = v4Ranges.get(i)[0];
+            this.v4Ends[i] = v4Ranges.get(i)[1];
+        }
+
+        this.v4Values = new int[v4MaskRules.size()];
+        this.v4Masks = new int[v4MaskRules.size()];
+        for (int i = 0; i < v4MaskRules.size(); i++) {
+            this.v4Values[i] = v4MaskRules.get(i)[0];
+            this.v4Masks[i] = v4MaskRules.get(i)[1];
+        }
+
+        v6Ranges = merge(v6Ranges);
+        this.v6StartHis = new long[v6Ranges.size()];
+        this.v6StartLos = new long[v6Ranges.size()];
+        this.v6EndHis = new long[v6Ranges.size()];
+        this.v6EndLos = new long[v6Ranges.size()];
+        for (int i = 0; i < v6Ranges.size(); i++) {
+            long[] range = v6Ranges.get(i);
+            this.v6StartHis[i] = range[0];
+            this.v6StartLos[i] = range[1];
+            this.v6EndHis[i] = range[2];
+            this.v6EndLos[i] = range[3];
+        }
+
+        this.patterns = patterns.toArray(new Pattern[0]);
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  编译IP匹配规则
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  rules   规则，忽略空白的规则
+     ** @return 匹配器
+     * *******************************************************
+     */
+    public static IpMatcher compile(Collection<String> rules) {
+        boolean matchAll = false;
+        List<long[]> v4Ranges = new ArrayList<>();
+        List<int[]> v4MaskRules = new ArrayList<>();
+        List<long[]> v6Ranges = new ArrayList<>();
+        List<Pattern> patterns = new ArrayList<>();
+
+        for (String rule : rules) {
+            if (rule == null || rule.trim().isEmpty())
+                continue;
+            rule = rule.trim();
+
+            if (isMatchAll(rule)) {
+                matchAll = true;
+            } else if (!compileV4Wildcard(rule, v4Ranges, v4MaskRules) && !compileRange(rule, v4Ranges, v6Ranges)) {
+                //**与NetworkUtil.matchIp的规则一致
+                patterns.add(Pattern.compile(rule.startsWith("*") ? "/" + rule : rule));
+            }
+        }
+
+        return new IpMatcher(matchAll, v4Ranges, v4MaskRules, v6Ranges, patterns);
+    }
+
+    /**编译逗号分隔的IP匹配规则*/
+    public static IpMatcher compile(String rules) {
+        return compile(Arrays.asList(rules.split("\\s*,\\s*")));
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：  IP是否匹配任意一条规则
+     ** @author Pings
+     ** @date   2026年10月17日
+     ** @param  ip   IPv4或者IPv6地址，IPv6可以带[]和%zone，IPv4映射的IPv6地址按IPv4匹配
+     ** @return 是否匹配
+     * *******************************************************
+     */
+    public boolean matches(String ip) {
+        if (matchAll)
+            return true;
+        if (ip == null)
+            return false;
+
+        if (ip.indexOf(':') < 0) {
+            long v4 = parseV4(ip, 0, ip.length());
+            if (v4 >= 0 && matchV4(v4))
+                return true;
+        } else if (matchV6(ip)) {
+            return true;
+        }
+
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(ip).matches())
+                return true;
+        }
+        return false;
+    }
+
+    /**是否没有任何规则*/
+    public boolean isEmpty() {
+        return !matchAll && v4Starts.length == 0 && v4Values.length == 0 && v6StartHis.length == 0 && patterns.length == 0;
+    }
+
+    private boolean matchV4(long ip) {
+        //**最后一个起始地址 <= ip的区间
+        int low = 0, high = v4Starts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (v4Starts[mid] <= ip)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+        if (high >= 0 && ip <= v4Ends[high])
+            return true;
+
+        for (int i = 0; i < v4Masks.length; i++) {
+            if (((int) ip & v4Masks[i]) == v4Values[i])
+                return true;
+        }
+        return false;
+    }
+
+    //**解析IPv6地址并查找区间，解析失败时返回false
+    private boolean matchV6(String ip) {
+        int from = 0, to = ip.length();
+        if (to > 1 && ip.charAt(0) == '[' && ip.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        int zone = ip.indexOf('%', from);
+        if (zone >= 0 && zone < to)
+            to = zone;
+
+        //**::之后的组数，嵌入的IPv4地址占两组
+        int gap = ip.indexOf("::", from);
+        if (gap >= to)
+            gap = -1;
+        int tailGroups = 0;
+        if (gap >= 0) {
+            int next = ip.indexOf("::", gap + 1);
+            if (next >= 0 && next < to)
+                return false;
+            if (gap + 2 < to) {
+                tailGroups = 1;
+                for (int i = gap + 2; i < to; i++) {
+                    char c = ip.charAt(i);
+                    if (c == ':')
+                        tailGroups++;
+                    else if (c == '.') {
+                        tailGroups++;
+                        break;
+                    }
+                }
+            }
+        }
+
+        long hi = 0, lo = 0;
+        int index = 0, i = from;
+        while (i < to) {
+            if (i == gap) {
+                int next = 8 - tailGroups;
+                if (next <= index)
+                    return false;
+                index = next;
+                i += 2;
+                continue;
+            }
+
+            int end = i;
+            boolean dotted = false;
+            while (end < to && ip.charAt(end) != ':') {
+                if (ip.charAt(end) == '.')
+                    dotted = true;
+                end++;
+            }
+
+            if (dotted) {
+                //**嵌入的IPv4地址只能是最后两组
+                long v4 = parseV4(ip, i, end);
+                if (v4 < 0 || end != to || index > 6)
+                    return false;
+                lo |= v4;
+                index += 2;
+                break;
+            }
+
+            if (end == i || end - i > 4 || index >= 8)
+                return false;
+            long group = 0;
+            for (int j = i; j < end; j++) {
+                int digit = Character.digit(ip.charAt(j), 16);
+                if (digit < 0)
+                    return false;
+                group = group << 4 | digit;
+            }
+            if (index < 4)
+                hi |= group << (48 - 16 * index);
+            else
+                lo |= group << (48 - 16 * (index - 4));
+            index++;
+
+            i = end;
+            if (i < to && i != gap) {
+                i++;
+                if (i == to)
+                    return false;
+            }
+        }
+        if (index != 8)
+            return false;
+
+        //**IPv4映射的IPv6地址
+        if (hi == 0 && lo >>> 32 == 0xFFFF)
+            return matchV4(lo & V4_MASK);
+
+        int low = 0, high = v6StartHis.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(v6StartHis[mid], v6StartLos[mid], hi, lo) <= 0)
+                low = mid + 1;
+            else
+                high = mid - 1;
+        }
+        return high >= 0 && compare(hi, lo, v6EndHis[high], v6EndLos[high]) <= 0;
+    }
+
+    private static boolean isMatchAll(String rule) {
+        if ("*".equals(rule))
+            return true;
+        String[] parts = rule.split("\\.", -1);
+        if (parts.length != 4)
+            return false;
+        for (String part : parts) {
+            if (!"*".equals(part))
+                return false;
+        }
+        return true;
+    }
+
+    //**IPv4通配符规则，末尾的通配符为区间，其它为掩码；不是通配符规则时返回false
+    private static boolean compileV4Wildcard(String rule, List<long[]> v4Ranges, List<int[]> v4MaskRules) {
+        if (rule.indexOf('*') < 0 || rule.indexOf(':') >= 0)
+            return false;
+
+        String[] parts = rule.split("\\.", -1);
+        //**192.168.*等价于192.168.*.*
+        if (parts.length > 4 || parts.length < 4 && !"*".equals(parts[parts.length - 1]))
+            return false;
+
+        int value = 0, mask = 0;
+        boolean trailing = true;
+        for (int i = 0; i < 4; i++) {
+            String part = i < parts.length ? parts[i] : "*";
+            value <<= 8;
+            mask <<= 8;
+            if ("*".equals(part))
+                continue;
+            if (!isOctet(part))
+                return false;
+            value |= Integer.parseInt(part);
+            mask |= 0xFF;
+            //**通配符之后又出现了数字
+            if (i > 0 && (mask & 0xFF00) == 0)
+                trailing = false;
+        }
+
+        if (trailing)
+            v4Ranges.add(new long[]{value & V4_MASK, (value | ~mask) & V4_MASK});
+        else
+            v4MaskRules.add(new int[]{value, mask});
+        return true;
+    }
+
+    //**单个地址、CIDR和范围；不是这些规则时返回false
+    private static boolean compileRange(String rule, List<long[]> v4Ranges, List<long[]> v6Ranges) {
+        int slash = rule.indexOf('/');
+        int dash = rule.indexOf('-');
+
+        long[] start, end;
+        if (slash > 0) {
+            start = parseAddress(rule.substring(0, slash).trim());
+            String prefix = rule.substring(slash + 1).trim();
+            if (start == null || prefix.isEmpty() || prefix.length() > 3 || !prefix.chars().allMatch(Character::isDigit))
+                return false;
+
+            int bits = Integer.parseInt(prefix);
+            if (bits > (start.length == 1 ? 32 : 128))
+                throw new IllegalArgumentException("Invalid CIDR prefix: " + rule);
+
+            end = new long[start.length];
+            if (start.length == 1) {
+                long mask = bits == 0 ? 0 : (V4_MASK << (32 - bits)) & V4_MASK;
+                start[0] &= mask;
+                end[0] = start[0] | (~mask & V4_MASK);
+            } else {
+                long hiMask = bits == 0 ? 0 : bits >= 64 ? -1L : -1L << (64 - bits);
+                long loMask = bits <= 64 ? 0 : bits == 128 ? -1L : -1L << (128 - bits);
+                start[0] &= hiMask;
+                start[1] &= loMask;
+                end[0] = start[0] | ~hiMask;
+                end[1] = start[1] | ~loMask;
+            }
+        } else if (dash > 0) {
+            start = parseAddress(rule.substring(0, dash).trim());
+            end = parseAddress(rule.substring(dash + 1).trim());
+            if (start == null || end == null)
+                return false;
+            if (start.length != end.length
+                    || (start.length == 1 ? start[0] > end[0] : compare(start[0], start[1], end[0], end[1]) > 0))
+                throw new IllegalArgumentException("Invalid IP range: " + rule);
+        } else {
+            start = parseAddress(rule);
+            if (start == null)
+                return false;
+            end = start.clone();
+        }
+
+        if (start.length == 1)
+            v4Ranges.add(new long[]{start[0], end[0]});
+        else
+            v6Ranges.add(new long[]{start[0], start[1], end[0], end[1]});
+        return true;
+    }
+
+    //**解析地址，IPv4返回一个元素，IPv6返回高64位和低64位，不是地址时返回null
+    private static long[] parseAddress(String address) {
+        if (address.indexOf(':') < 0) {
+            long v4 = parseV4(address, 0, address.length());
+            return v4 < 0 ? null : new long[]{v4};
+        }
+
+        //**只包含IPv6字面量的字符时才解析，避免查询DNS
+        for (int i = 0; i < address.length(); i++) {
+            char c = address.charAt(i);
+            if (Character.digit(c, 16) < 0 && c != ':' && c != '.' && c != '[' && c != ']')
+                return null;
+        }
+
+        try {
+            InetAddress inet = InetAddress.getByName(address);
+            byte[] bytes = inet.getAddress();
+            if (inet instanceof Inet4Address)
+                return new long[]{toLong(bytes, 0, 4)};
+            return new long[]{toLong(bytes, 0, 8), toLong(bytes, 8, 16)};
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    //**解析IPv4地址，失败时返回-1
+    private static long parseV4(String ip, int from, int to) {
+        long result = 0;
+        int octets = 0, value = 0, digits = 0;
+        for (int i = from; i < to; i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255)
+                    return -1;
+            } else if (c == '.' && digits > 0 && octets < 3) {
+                result = result << 8 | value;
+                octets++;
+                value = 0;
+                digits = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (octets != 3 || digits == 0)
+            return -1;
+        return result << 8 | value;
+    }
+
+    private static boolean isOctet(String part) {
+        return parseV4(part + ".0.0.0", 0, part.length() + 6) >= 0;
+    }
+
+    private static long toLong(byte[] bytes, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++)
+            result = result << 8 | (bytes[i] & 0xFF);
+        return result;
+    }
+
+    //**按无符号数比较128位地址
+    private static int compare(long hi1, long lo1, long hi2, long lo2) {
+        int result = Long.compareUnsigned(hi1, hi2);
+        return result != 0 ? result : Long.compareUnsigned(lo1, lo2);
+    }
+
+    //**排序并合并重叠或相邻的区间，IPv4区间为{start, end}，IPv6区间为{startHi, startLo, endHi, endLo}
+    private static List<long[]> merge(List<long[]> ranges) {
+        if (ranges.isEmpty())
+            return ranges;
+
+        boolean v6 = ranges.get(0).length == 4;
+        ranges.sort(v6 ? (a, b) -> compare(a[0], a[1], b[0], b[1]) : (a, b) -> Long.compare(a[0], b[0]));
+
+        List<long[]> merged = new ArrayList<>();
+        long[] last = null;
+        for (long[] range : ranges) {
+            if (last != null && (v6 ? adjacentV6(last, range) : range[0] <= last[1] + 1)) {
+                if (v6 ? compare(range[2], range[3], last[2], last[3]) > 0 : range[1] > last[1]) {
+                    if (v6) {
+                        last[2] = range[2];
+                        last[3] = range[3];
+                    } else {
+                        last[1] = range[1];
+                    }
+                }
+            } else {
+                last = range.clone();
+                merged.add(last);
+            }
+        }
+        return merged;
+    }
+
+    //**下一个区间的起始地址 <= 上一个区间的结束地址 + 1
+    private static boolean adjacentV6(long[] last, long[] range) {
+        if (compare(range[0], range[1], last[2], last[3]) <= 0)
+            return true;
+        long lo = last[3] + 1;
+        long hi = lo == 0 ? last[2] + 1 : last[2];
+        return range[0] == hi && range[1] == lo;
+    }
+}
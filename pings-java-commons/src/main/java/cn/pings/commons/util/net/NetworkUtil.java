@@ -10,9 +10,10 @@ import javax.servlet.http.HttpServletRequest;
  ** @desc  ：  java web网络工具类                                          
  ** @author    Pings
  ** @date      2017年10月17日
- ** @version   v1.1
+ ** @version   v1.2
  **
- ** V1.1 添加matchIp Pings 2017-10-20                                                                              
+ ** V1.1 添加matchIp Pings 2017-10-20
+ ** V1.2 添加使用ExclusionMatcher的isExclusion Pings 2026-10-17                                                                              
  * *******************************************************
  */
 public class NetworkUtil {
@@ -68,6 +69,19 @@ public class NetworkUtil {
         }
     }
     
+    /**
+     *********************************************************
+     ** @desc ：请求的url是否在排除目录，使用init时编译的排除规则，不编译正则表达式
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  requestURI   请求地址
+     ** @param  exclusions   排除规则，为null时不排除
+     * *******************************************************
+     */
+    public static boolean isExclusion(String requestURI, ExclusionMatcher exclusions) {
+        return exclusions != null && exclusions.matches(requestURI);
+    }
+    
     /**
      *********************************************************
      ** @desc ：匹配IP地址
@@ -0,0 +1,181 @@
+package cn.pings.commons.stream.forker;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ *********************************************************
+ ** @desc  ：RingBuffer的并发测试，使用很小的容量，使生产者和读取端频繁地互相等待
+ ** @author  Pings
+ ** @date    2026年10月17日
+ ** @version v1.0
+ * *******************************************************
+ */
+public class RingBufferTest {
+
+	private static final int CAPACITY = 8;
+	private static final int PRODUCERS = 4;
+	private static final int READERS = 3;
+	//**每个生产者发布的元素个数
+	private static final int ELEMENTS = 20_000;
+
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@After
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test(timeout = 30_000)
+	public void multiProducerReadersSeeEveryElementOnce() throws Exception {
+		RingBuffer<Integer> ring = new RingBuffer<>(CAPACITY, OverflowPolicy.BLOCK, true);
+		List<Future<int[]>> readers = startReaders(ring);
+
+		List<Future<?>> producers = new ArrayList<>();
+		for (int p = 0; p < PRODUCERS; p++) {
+			int offset = p * ELEMENTS;
+			Consumer<Integer> producer = ring.newProducer();
+			producers.add(executor.submit(() -> {
+				for (int i = 0; i < ELEMENTS; i++)
+					producer.accept(offset + i);
+			}));
+		}
+		for (Future<?> producer : producers)
+			producer.get();
+		ring.finish();
+
+		for (Future<int[]> reader : readers)
+			assertSeenOnce(reader.get(), PRODUCERS * ELEMENTS);
+	}
+
+	@Test(timeout = 30_000)
+	public void singleProducerReadersSeeEveryElementOnce() throws Exception {
+		RingBuffer<Integer> ring = new RingBuffer<>(CAPACITY, OverflowPolicy.BLOCK, false);
+		List<Future<int[]>> readers = startReaders(ring);
+
+		for (int i = 0; i < ELEMENTS; i++)
+			ring.publish(i);
+		ring.finish();
+
+		for (Future<int[]> reader : readers)
+			assertSeenOnce(reader.get(), ELEMENTS);
+	}
+
+	@Test(timeout = 30_000)
+	public void finishEndsReadersWhenForksCloseDuringProduction() throws Exception {
+		RingBuffer<Integer> ring = new RingBuffer<>(CAPACITY, OverflowPolicy.BLOCK, true);
+		ForkBuffer.Reader<Integer> closing = ring.newReader(-1, false);
+		List<Future<int[]>> readers = startReaders(ring);
+
+		Consumer<Integer> producer = ring.newProducer();
+		for (int i = 0; i < CAPACITY * 4; i++) {
+			producer.accept(i);
+			//**中途关闭的读取端不再阻塞生产者
+			if (i == CAPACITY / 2)
+				closing.close();
+		}
+		ring.finish();
+
+		for (Future<int[]> reader : readers)
+			assertSeenOnce(reader.get(), CAPACITY * 4);
+	}
+
+	@Test(timeout = 30_000)
+	public void cancelEndsWaitingReaders() throws Exception {
+		RingBuffer<Integer> ring = new RingBuffer<>(CAPACITY, OverflowPolicy.BLOCK, true);
+		ForkBuffer.Reader<Integer> advancing = ring.newReader(-1, false);
+		ForkBuffer.Reader<Integer> batching = ring.newReader(-1, false);
+		CountDownLatch started = new CountDownLatch(2);
+
+		Future<Boolean> advanced = executor.submit(() -> {
+			started.countDown();
+			return advancing.tryAdvance(t -> {});
+		});
+		Future<?> batched = executor.submit(() -> {
+			started.countDown();
+			batching.forEachRemaining(t -> {});
+		});
+
+		started.await();
+		assertBlocked(advanced);
+		assertBlocked(batched);
+
+		ring.cancel();
+		assertFalse(advanced.get(5, TimeUnit.SECONDS));
+		batched.get(5, TimeUnit.SECONDS);
+		assertFalse(advancing.tryAdvance(t -> fail("Read after cancel: " + t)));
+	}
+
+	@Test(timeout = 30_000)
+	public void cancelReleasesBlockedProducer() throws Exception {
+		RingBuffer<Integer> ring = new RingBuffer<>(CAPACITY, OverflowPolicy.BLOCK, true);
+		ForkBuffer.Reader<Integer> idle = ring.newReader(-1, false);
+
+		Consumer<Integer> producer = ring.newProducer();
+		Future<?> production = executor.submit(() -> {
+			for (int i = 0; i < CAPACITY * 2; i++)
+				producer.accept(i);
+		});
+		assertBlocked(production);
+
+		ring.cancel();
+		try {
+			production.get(5, TimeUnit.SECONDS);
+			fail("The producer should be aborted after cancel");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof ForksClosedException);
+		}
+		assertFalse(idle.tryAdvance(t -> fail("Read after cancel: " + t)));
+	}
+
+	//**每个读取端统计每个元素出现的次数，一半使用tryAdvance，一半使用forEachRemaining
+	private List<Future<int[]>> startReaders(RingBuffer<Integer> ring) {
+		List<Future<int[]>> readers = new ArrayList<>();
+		for (int r = 0; r < READERS; r++) {
+			ForkBuffer.Reader<Integer> reader = ring.newReader(-1, false);
+			boolean advance = r % 2 == 0;
+			readers.add(executor.submit(() -> {
+				int[] seen = new int[PRODUCERS * ELEMENTS];
+				if (advance) {
+					while (reader.tryAdvance(t -> seen[t]++))
+						;
+				} else {
+					reader.forEachRemaining(t -> seen[t]++);
+				}
+				reader.close();
+				return seen;
+			}));
+		}
+		return readers;
+	}
+
+	private static void assertSeenOnce(int[] seen, int count) {
+		for (int i = 0; i < seen.length; i++)
+			assertEquals("Element " + i, i < count ? 1 : 0, seen[i]);
+	}
+
+	private static void assertBlocked(Future<?> future) throws Exception {
+		try {
+			future.get(100, TimeUnit.MILLISECONDS);
+			fail("The task should be waiting");
+		} catch (TimeoutException e) {
+			//**仍在等待
+		}
+	}
+}
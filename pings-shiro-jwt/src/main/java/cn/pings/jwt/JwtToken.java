@@ -1,5 +1,7 @@
 package cn.pings.jwt;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.apache.shiro.authc.AuthenticationToken;
 
 /**
@@ -7,17 +9,34 @@ import org.apache.shiro.authc.AuthenticationToken;
  ** @desc  ： JwtToken
  ** @author  Pings
  ** @date    2019/1/23
- ** @version v1.0
+ ** @version v1.2
+ **
+ ** V1.1 保存解码后的DecodedJWT，一次请求只解码一次  Pings 2026-10-17
+ ** V1.2 DecodedJWT不可序列化，不参与序列化，反序列化后重新解码  Pings 2026-10-17
  * *******************************************************
  */
 public class JwtToken implements AuthenticationToken {
 
     private String token;
+    //**解码后的令牌，第一次使用时解码，不参与序列化
+    private transient DecodedJWT decodedJWT;
 
     public JwtToken(String token) {
         this.token = token;
     }
 
+    public JwtToken(DecodedJWT decodedJWT) {
+        this.token = decodedJWT.getToken();
+        this.decodedJWT = decodedJWT;
+    }
+
+    /**解码后的令牌，格式错误时抛出JWTDecodeException*/
+    public DecodedJWT getDecodedJWT() {
+        if (decodedJWT == null)
+            decodedJWT = JWT.decode(token);
+        return decodedJWT;
+    }
+
     @Override
     public Object getPrincipal() {
         return token;
@@ -4,6 +4,7 @@ import cn.pings.commons.util.jwt.JwtUtil;
 import cn.pings.jwt.JwtToken;
 import cn.pings.jwt.exception.AccessTokenExpiredException;
 import cn.pings.jwt.verifier.JwtVerifier;
+import com.auth0.jwt.JWT;
 import org.apache.shiro.web.filter.authc.BasicHttpAuthenticationFilter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -20,7 +21,9 @@ import java.io.PrintWriter;
  ** @desc  ： JwtFilter
  ** @author  Pings
  ** @date    2019/1/23
- ** @version v1.0
+ ** @version v1.1
+ **
+ ** V1.1 请求头中的令牌只解码一次，JwtToken携带解码结果，刷新令牌时复用  Pings 2026-10-17
  * *******************************************************
  */
 public class JwtFilter extends BasicHttpAuthenticationFilter {
@@ -36,14 +39,16 @@ public class JwtFilter extends BasicHttpAuthenticationFilter {
     protected boolean isAccessAllowed(ServletRequest request, ServletResponse response, Object mappedValue) {
         //**判断用户是否要登入
         if (this.isLoginAttempt(request, response)) {
+            JwtToken jwtToken = null;
             try {
                 //**登录认证
-                return this.executeLogin(request, response);
+                jwtToken = new JwtToken(JWT.decode(this.getAuthzHeader(request)));
+                return this.executeLogin(jwtToken, request, response);
             } catch (AccessTokenExpiredException e) {
                 //**访问令牌过期 and 刷新令牌未过期则重新生成访问令牌
                 try {
-                    String token = verifier.signByOldToken(this.getAuthzHeader(request));
-                    this.executeLogin(token, request, response);
+                    String token = verifier.signByOldToken(jwtToken.getDecodedJWT());
+                    this.executeLogin(new JwtToken(token), request, response);
 
                     //**修改响应头的访问令牌
                     JwtUtil.setHttpServletResponse((HttpServletResponse) response, token);
@@ -79,7 +84,7 @@ public class JwtFilter extends BasicHttpAuthenticationFilter {
     /**调用JwtRealm进行登录认证*/
     @Override
     protected boolean executeLogin(ServletRequest request, ServletResponse response) throws Exception {
-        return this.executeLogin(this.getAuthzHeader(request), request, response);
+        return this.executeLogin(new JwtToken(this.getAuthzHeader(request)), request, response);
     }
 
     /**支持跨域*/
@@ -117,9 +122,7 @@ public class JwtFilter extends BasicHttpAuthenticationFilter {
     }
 
     /**调用JwtRealm进行登录认证*/
-    private boolean executeLogin(String token, ServletRequest request, ServletResponse response) throws Exception {
-        //**创建JwtToken
-        JwtToken jwtToken = new JwtToken(token);
+    private boolean executeLogin(JwtToken jwtToken, ServletRequest request, ServletResponse response) throws Exception {
         //**提交给JwtRealm认证
         this.getSubject(request, response).login(jwtToken);
         //**没有抛出异常则代表登入成功
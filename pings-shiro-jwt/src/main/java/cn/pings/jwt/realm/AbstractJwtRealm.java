@@ -10,7 +10,9 @@ import org.apache.shiro.realm.AuthorizingRealm;
  ** @desc  ： jwt realm
  ** @author  Pings
  ** @date    2019/1/23
- ** @version v1.0
+ ** @version v1.1
+ **
+ ** V1.1 添加verify和getUserName，使用JwtToken中已解码的令牌  Pings 2026-10-17
  * *******************************************************
  */
 public abstract class AbstractJwtRealm extends AuthorizingRealm {
@@ -25,4 +27,14 @@ public abstract class AbstractJwtRealm extends AuthorizingRealm {
     public boolean supports(AuthenticationToken token) {
         return token instanceof JwtToken;
     }
+
+    /**校验令牌，使用JwtToken中已解码的令牌*/
+    protected boolean verify(AuthenticationToken token) {
+        return this.verifier.verify(((JwtToken) token).getDecodedJWT());
+    }
+
+    /**获取令牌中的用户名称，使用JwtToken中已解码的令牌*/
+    protected String getUserName(AuthenticationToken token) {
+        return this.verifier.getUserName(((JwtToken) token).getDecodedJWT());
+    }
 }
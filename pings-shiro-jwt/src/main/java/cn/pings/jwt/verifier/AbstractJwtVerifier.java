@@ -1,14 +1,26 @@
 package cn.pings.jwt.verifier;
 
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  *********************************************************
  ** @desc  ： Jwt校验器
  ** @author  Pings
  ** @date    2019/5/17
- ** @version v1.0
+ ** @version v1.4
+ **
+ ** V1.1 按用户缓存jwt算法和校验器，有数量上限和空闲时间，签名和校验不再每次生成  Pings 2026-10-17
+ ** V1.2 支持非对称密钥环，设置后使用RS256/ES256签名和校验，不再按用户生成密钥  Pings 2026-10-17
+ ** V1.3 缓存改为没有后台线程的VerifierCache，校验时只在签名校验通过后才缓存，伪造的用户名称不会挤掉已缓存的用户  Pings 2026-10-17
+ ** V1.4 缓存的算法由createAlgorithm创建；子类重写generateAlgorithm时签名和校验都使用该方法生成的算法，不缓存，
+ **      也不使用密钥环，与V1.1之前的行为一致  Pings 2026-10-17
  * *******************************************************
  */
 public abstract class AbstractJwtVerifier implements JwtVerifier {
@@ -21,8 +33,144 @@ public abstract class AbstractJwtVerifier implements JwtVerifier {
     //**基础密钥，默认"pingssys"
     protected String secret = "pingssys";
 
+    //**缓存jwt算法和校验器的用户数上限，默认10000
+    protected int verifierCacheSize = 10000;
+
+    //**缓存的jwt算法和校验器的空闲时间(分钟)，默认30分钟
+    protected long verifierCacheExpireTime = 30;
+
+    //**非对称密钥环，为null时使用基础密钥和用户名称生成的HMAC256密钥
+    protected volatile JwtKeyRing keyRing;
+
+    //**按用户缓存的jwt算法和校验器，第一次使用时创建，使创建后设置的secret等参数生效
+    private volatile VerifierCache<Prepared> verifiers;
+
+    //**子类是否重写了generateAlgorithm，重写时校验使用同一个方法生成的算法，不缓存
+    private final boolean customAlgorithm = overridesGenerateAlgorithm(this.getClass());
+
     @Override
     public String generateUniqueSecret(String userName){
         return userName + secret;
     }
+
+    /**设置非对称密钥环，轮换密钥时替换为新的密钥环*/
+    public void setKeyRing(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+    }
+
+    /**
+     *********************************************************
+     ** @desc ： 校验令牌，使用密钥环时按令牌头中的kid选择公钥校验，与用户无关；
+     **          否则使用用户的校验器，用户名称未经校验，缓存中没有时在签名校验通过后才缓存
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  jwt  解码后的令牌
+     ** @return boolean
+     * *******************************************************
+     */
+    @Override
+    public boolean verify(DecodedJWT jwt) {
+        if (this.customAlgorithm)
+            return JwtVerifier.super.verify(jwt);
+
+        JwtKeyRing keyRing = this.keyRing;
+        if (keyRing != null) {
+            keyRing.verify(jwt);
+            return true;
+        }
+
+        String userName = this.getUserName(jwt);
+        if (userName == null)
+            return JwtVerifier.super.verify(jwt);
+
+        VerifierCache<Prepared> verifiers = this.verifiers();
+        Prepared prepared = verifiers.get(userName);
+        if (prepared != null) {
+            prepared.verifier.verify(jwt);
+            return true;
+        }
+
+        prepared = new Prepared(this.createAlgorithm(userName));
+        prepared.verifier.verify(jwt);
+        verifiers.put(userName, prepared);
+        return true;
+    }
+
+    @Override
+    public Algorithm generateAlgorithm(String userName) {
+        JwtKeyRing keyRing = this.keyRing;
+        if (keyRing != null)
+            return keyRing.getSigningAlgorithm();
+
+        if (userName == null)
+            return this.createAlgorithm(null);
+
+        //**签名的用户名称来自登录等可信的来源，可以直接缓存
+        VerifierCache<Prepared> verifiers = this.verifiers();
+        Prepared prepared = verifiers.get(userName);
+        if (prepared == null)
+            verifiers.put(userName, prepared = new Prepared(this.createAlgorithm(userName)));
+        return prepared.algorithm;
+    }
+
+    /**获取用户的校验器，缓存中没有时创建，但不缓存，校验通过后才由verify缓存*/
+    @Override
+    public JWTVerifier getVerifier(String userName) {
+        if (this.customAlgorithm)
+            return JWT.require(this.generateAlgorithm(userName)).build();
+
+        JwtKeyRing keyRing = this.keyRing;
+        if (keyRing != null)
+            return keyRing.getVerifier();
+
+        Prepared prepared = userName == null ? null : this.verifiers().get(userName);
+        return prepared != null ? prepared.verifier : JWT.require(this.createAlgorithm(userName)).build();
+    }
+
+    /**
+     *********************************************************
+     ** @desc ： 根据secret创建jwt算法，结果按用户缓存，修改算法时重写该方法；
+     **          重写generateAlgorithm也可以修改算法，但签名和校验不再缓存
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  userName 用户名称
+     ** @return Algorithm
+     * *******************************************************
+     */
+    protected Algorithm createAlgorithm(String userName) {
+        return Algorithm.HMAC256(this.generateUniqueSecret(userName));
+    }
+
+    //**子类是否重写了generateAlgorithm
+    private static boolean overridesGenerateAlgorithm(Class<?> type) {
+        try {
+            return type.getMethod("generateAlgorithm", String.class).getDeclaringClass() != AbstractJwtVerifier.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    //**获取缓存，不存在时创建
+    private VerifierCache<Prepared> verifiers() {
+        VerifierCache<Prepared> verifiers = this.verifiers;
+        if (verifiers == null) {
+            synchronized (this) {
+                verifiers = this.verifiers;
+                if (verifiers == null)
+                    this.verifiers = verifiers = new VerifierCache<>(verifierCacheSize, verifierCacheExpireTime, TimeUnit.MINUTES);
+            }
+        }
+        return verifiers;
+    }
+
+    //**用户的jwt算法和校验器，都是线程安全的
+    private static final class Prepared {
+        private final Algorithm algorithm;
+        private final JWTVerifier verifier;
+
+        Prepared(Algorithm algorithm) {
+            this.algorithm = algorithm;
+            this.verifier = JWT.require(algorithm).build();
+        }
+    }
 }
@@ -14,7 +14,9 @@ import java.util.function.Consumer;
  ** @desc  ： 基于access token的Jwt校验器
  ** @author  Pings
  ** @date    2019/5/17
- ** @version v1.0
+ ** @version v1.1
+ **
+ ** V1.1 支持使用非对称密钥环签名和校验，校验时不访问Redis，不需要共享密钥  Pings 2026-10-17
  * *******************************************************
  */
 public class AccessTokenJwtVerifier extends AbstractJwtVerifier {
@@ -33,6 +35,15 @@ public class AccessTokenJwtVerifier extends AbstractJwtVerifier {
         this.accessTokenExpireTime = accessTokenExpireTime;
     }
 
+    /**使用非对称密钥环，只有公钥时只能校验令牌*/
+    public AccessTokenJwtVerifier(JwtKeyRing keyRing, long accessTokenExpireTime){
+        if(keyRing == null || accessTokenExpireTime <= 0)
+            throw new IllegalArgumentException("keyRing and accessTokenExpireTime catnot be null");
+
+        this.keyRing = keyRing;
+        this.accessTokenExpireTime = accessTokenExpireTime;
+    }
+
     @Override
     public String sign(String userName) {
         return sign(userName, new HashMap<>());
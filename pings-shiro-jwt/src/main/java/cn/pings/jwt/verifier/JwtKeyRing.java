@@ -0,0 +1,260 @@
+package cn.pings.jwt.verifier;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import org.springframework.util.Assert;
+
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.*;
+
+/**
+ *********************************************************
+ ** @desc  ： 非对称密钥环，使用RS256或ES256签名和校验，按令牌头中的kid选择公钥
+ **           1.公钥在创建时解析，保存在不可变的Map中，校验时不再生成密钥和校验器
+ **           2.只有公钥时只能校验，不需要与签名方共享密钥
+ **           3.轮换密钥时添加新的公钥并改用新的私钥签名，旧令牌在过期前仍可使用旧公钥校验
+ ** @author  Pings
+ ** @date    2026/10/17
+ ** @version v1.0
+ * *******************************************************
+ */
+public final class JwtKeyRing {
+
+    private static final String RS256 = "RS256", ES256 = "ES256";
+
+    //**kid -> 公钥
+    private final Map<String, RSAPublicKey> rsaKeys;
+    private final Map<String, ECPublicKey> ecKeys;
+    //**算法名称 -> 校验器
+    private final Map<String, JWTVerifier> verifiers;
+    //**签名算法，只有公钥时为null
+    private final Algorithm signingAlgorithm;
+
+    private JwtKeyRing(Map<String, RSAPublicKey> rsaKeys, Map<String, ECPublicKey> ecKeys, String signingKeyId, PrivateKey signingKey) {
+        this.rsaKeys = Collections.unmodifiableMap(new HashMap<>(rsaKeys));
+        this.ecKeys = Collections.unmodifiableMap(new HashMap<>(ecKeys));
+
+        Map<String, JWTVerifier> verifiers = new HashMap<>();
+        if (!this.rsaKeys.isEmpty())
+            verifiers.put(RS256, JWT.require(Algorithm.RSA256(new RsaKeys(this.rsaKeys, null, null))).build());
+        if (!this.ecKeys.isEmpty())
+            verifiers.put(ES256, JWT.require(Algorithm.ECDSA256(new EcKeys(this.ecKeys, null, null))).build());
+        this.verifiers = Collections.unmodifiableMap(verifiers);
+
+        if (signingKey instanceof RSAPrivateKey)
+            this.signingAlgorithm = Algorithm.RSA256(new RsaKeys(this.rsaKeys, signingKeyId, (RSAPrivateKey) signingKey));
+        else if (signingKey instanceof ECPrivateKey)
+            this.signingAlgorithm = Algorithm.ECDSA256(new EcKeys(this.ecKeys, signingKeyId, (ECPrivateKey) signingKey));
+        else
+            this.signingAlgorithm = null;
+    }
+
+    /**
+     *********************************************************
+     ** @desc ： 校验令牌，按令牌头中的alg选择校验器，按kid选择公钥
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  jwt  解码后的令牌
+     ** @return DecodedJWT
+     * *******************************************************
+     */
+    public DecodedJWT verify(DecodedJWT jwt) {
+        JWTVerifier verifier = this.verifiers.get(jwt.getAlgorithm());
+        if (verifier == null)
+            throw new AlgorithmMismatchException("The key ring has no key for algorithm " + jwt.getAlgorithm());
+
+        return verifier.verify(jwt);
+    }
+
+    /**签名算法的校验器，只有公钥时返回任意一个校验器*/
+    public JWTVerifier getVerifier() {
+        if (this.signingAlgorithm != null)
+            return this.verifiers.get(this.signingAlgorithm.getName());
+        return this.verifiers.values().iterator().next();
+    }
+
+    /**签名算法，签名时在令牌头中写入kid*/
+    public Algorithm getSigningAlgorithm() {
+        if (this.signingAlgorithm == null)
+            throw new IllegalStateException("The key ring has no signing key");
+        return this.signingAlgorithm;
+    }
+
+    /**是否可以签名*/
+    public boolean canSign() {
+        return this.signingAlgorithm != null;
+    }
+
+    /**全部公钥的kid*/
+    public Set<String> getKeyIds() {
+        Set<String> keyIds = new HashSet<>(this.rsaKeys.keySet());
+        keyIds.addAll(this.ecKeys.keySet());
+        return Collections.unmodifiableSet(keyIds);
+    }
+
+    //**按kid查找公钥，令牌没有kid且只有一个公钥时使用该公钥
+    private static <K> K find(Map<String, K> keys, String keyId) {
+        if (keyId == null)
+            return keys.size() == 1 ? keys.values().iterator().next() : null;
+        return keys.get(keyId);
+    }
+
+    private static final class RsaKeys implements RSAKeyProvider {
+        private final Map<String, RSAPublicKey> keys;
+        private final String privateKeyId;
+        private final RSAPrivateKey privateKey;
+
+        RsaKeys(Map<String, RSAPublicKey> keys, String privateKeyId, RSAPrivateKey privateKey) {
+            this.keys = keys;
+            this.privateKeyId = privateKeyId;
+            this.privateKey = privateKey;
+        }
+
+        @Override
+        public RSAPublicKey getPublicKeyById(String keyId) {
+            return find(this.keys, keyId);
+        }
+
+        @Override
+        public RSAPrivateKey getPrivateKey() {
+            return this.privateKey;
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return this.privateKeyId;
+        }
+    }
+
+    private static final class EcKeys implements ECDSAKeyProvider {
+        private final Map<String, ECPublicKey> keys;
+        private final String privateKeyId;
+        private final ECPrivateKey privateKey;
+
+        EcKeys(Map<String, ECPublicKey> keys, String privateKeyId, ECPrivateKey privateKey) {
+            this.keys = keys;
+            this.privateKeyId = privateKeyId;
+            this.privateKey = privateKey;
+        }
+
+        @Override
+        public ECPublicKey getPublicKeyById(String keyId) {
+            return find(this.keys, keyId);
+        }
+
+        @Override
+        public ECPrivateKey getPrivateKey() {
+            return this.privateKey;
+        }
+
+        @Override
+        public String getPrivateKeyId() {
+            return this.privateKeyId;
+        }
+    }
+
+    public static class Builder {
+
+        private final Map<String, RSAPublicKey> rsaKeys = new HashMap<>();
+        private final Map<String, ECPublicKey> ecKeys = new HashMap<>();
+        private String signingKeyId;
+        private PrivateKey signingKey;
+
+        private Builder() {
+        }
+
+        public static Builder newBuilder() {
+            return new Builder();
+        }
+
+        /**添加公钥，RSA或者P-256的EC公钥*/
+        public Builder publicKey(String keyId, PublicKey publicKey) {
+            Assert.hasText(keyId, "keyId cat not be empty");
+
+            if (publicKey instanceof RSAPublicKey) {
+                rsaKeys.put(keyId, (RSAPublicKey) publicKey);
+                ecKeys.remove(keyId);
+            } else if (publicKey instanceof ECPublicKey && isP256((ECPublicKey) publicKey)) {
+                ecKeys.put(keyId, (ECPublicKey) publicKey);
+                rsaKeys.remove(keyId);
+            } else {
+                throw new IllegalArgumentException("Only RSA and P-256 EC public keys are supported: " + keyId);
+            }
+            return this;
+        }
+
+        /**添加公钥，PEM格式或者Base64编码的X.509（SubjectPublicKeyInfo）*/
+        public Builder publicKey(String keyId, String encoded) {
+            KeySpec spec = new X509EncodedKeySpec(decode(encoded));
+            return this.publicKey(keyId, (PublicKey) generate(spec, true));
+        }
+
+        /**签名使用的私钥，keyId需要有对应的公钥*/
+        public Builder signingKey(String keyId, PrivateKey privateKey) {
+            Assert.hasText(keyId, "keyId cat not be empty");
+            Assert.notNull(privateKey, "privateKey cat not be null");
+
+            this.signingKeyId = keyId;
+            this.signingKey = privateKey;
+            return this;
+        }
+
+        /**签名使用的私钥，PEM格式或者Base64编码的PKCS#8*/
+        public Builder signingKey(String keyId, String encoded) {
+            KeySpec spec = new PKCS8EncodedKeySpec(decode(encoded));
+            return this.signingKey(keyId, (PrivateKey) generate(spec, false));
+        }
+
+        public JwtKeyRing build() {
+            if (rsaKeys.isEmpty() && ecKeys.isEmpty())
+                throw new IllegalArgumentException("The key ring has no public key");
+            if (signingKey instanceof RSAPrivateKey && !rsaKeys.containsKey(signingKeyId)
+                    || signingKey instanceof ECPrivateKey && !ecKeys.containsKey(signingKeyId))
+                throw new IllegalArgumentException("The signing key has no public key of the same type: " + signingKeyId);
+            if (signingKey != null && !(signingKey instanceof RSAPrivateKey) && !(signingKey instanceof ECPrivateKey))
+                throw new IllegalArgumentException("Only RSA and EC signing keys are supported: " + signingKeyId);
+
+            return new JwtKeyRing(rsaKeys, ecKeys, signingKeyId, signingKey);
+        }
+
+        //**ES256只能使用P-256曲线
+        private static boolean isP256(ECPublicKey publicKey) {
+            return publicKey.getParams().getCurve().getField().getFieldSize() == 256;
+        }
+
+        //**去掉PEM的头尾和空白后Base64解码
+        private static byte[] decode(String encoded) {
+            Assert.hasText(encoded, "key cat not be empty");
+
+            String base64 = encoded.replaceAll("-----(BEGIN|END)[^-]*-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        }
+
+        //**依次尝试RSA和EC
+        private static Object generate(KeySpec spec, boolean publicKey) {
+            for (String algorithm : Arrays.asList("RSA", "EC")) {
+                try {
+                    KeyFactory factory = KeyFactory.getInstance(algorithm);
+                    return publicKey ? factory.generatePublic(spec) : factory.generatePrivate(spec);
+                } catch (Exception ignored) {
+                    //**不是该算法的密钥
+                }
+            }
+            throw new IllegalArgumentException("Unsupported or invalid " + (publicKey ? "public" : "private") + " key");
+        }
+    }
+}
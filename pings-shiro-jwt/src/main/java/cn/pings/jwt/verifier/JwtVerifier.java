@@ -7,7 +7,7 @@ import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.impl.PublicClaims;
 import com.auth0.jwt.interfaces.Claim;
-import com.auth0.jwt.interfaces.Payload;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.springframework.util.DigestUtils;
 
 import java.util.AbstractMap;
@@ -22,7 +22,10 @@ import static java.util.stream.Collectors.toMap;
  ** @desc  ： Jwt校验器
  ** @author  Pings
  ** @date    2019/5/17
- ** @version v1.0
+ ** @version v1.2
+ **
+ ** V1.1 添加getVerifier，实现类可以缓存jwt算法和校验器  Pings 2026-10-17
+ ** V1.2 校验、获取用户名称和重新签名支持DecodedJWT，一次请求只解码一次  Pings 2026-10-17
  * *******************************************************
  */
 public interface JwtVerifier {
@@ -90,11 +93,36 @@ public interface JwtVerifier {
      * *******************************************************
      */
     default boolean verify(String token) {
-        JWTVerifier verifier = JWT.require(this.generateAlgorithm(this.getUserName(token))).build();
-        verifier.verify(token);
+        return this.verify(JWT.decode(token));
+    }
+
+    /**
+     *********************************************************
+     ** @desc ： 校验已解码的token
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  jwt       解码后的令牌
+     ** @return boolean
+     * *******************************************************
+     */
+    default boolean verify(DecodedJWT jwt) {
+        this.getVerifier(this.getUserName(jwt)).verify(jwt);
         return true;
     }
 
+    /**
+     *********************************************************
+     ** @desc ： 获取用户的jwt校验器
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  userName 用户名称
+     ** @return JWTVerifier
+     * *******************************************************
+     */
+    default JWTVerifier getVerifier(String userName) {
+        return JWT.require(this.generateAlgorithm(userName)).build();
+    }
+
     /**
      *********************************************************
      ** @desc ： 使签名无效，默认的签名在有效期内无法失效
@@ -145,6 +173,19 @@ public interface JwtVerifier {
         return JwtUtil.getValue(token, USER_NAME).asString();
     }
 
+    /**
+     *********************************************************
+     ** @desc ：根据解码后的token获取用户名称
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  jwt  解码后的令牌
+     ** @return String
+     * *******************************************************
+     */
+    default String getUserName(DecodedJWT jwt) {
+        return jwt.getClaim(USER_NAME).asString();
+    }
+
     /**
      *********************************************************
      ** @desc ：根据旧token生成新签名
@@ -155,8 +196,20 @@ public interface JwtVerifier {
      * *******************************************************
      */
     default String signByOldToken(String token){
-        Map<String, Claim> params = JwtUtil.decodeToken(token, Payload::getClaims);
-        assert params != null;
+        return this.signByOldToken(JWT.decode(token));
+    }
+
+    /**
+     *********************************************************
+     ** @desc ：根据解码后的旧token生成新签名
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  jwt  解码后的令牌
+     ** @return String
+     * *******************************************************
+     */
+    default String signByOldToken(DecodedJWT jwt){
+        Map<String, Claim> params = jwt.getClaims();
 
         Map<String, String> paramMap = params.entrySet().stream()
             .filter(entry -> !entry.getKey().equals(USER_NAME))
@@ -165,6 +218,6 @@ public interface JwtVerifier {
             .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue().asString()))
             .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
 
-        return this.sign(params.get(USER_NAME).asString(), builder -> paramMap.forEach(builder::withClaim), DigestUtils.md5DigestAsHex(token.getBytes()));
+        return this.sign(params.get(USER_NAME).asString(), builder -> paramMap.forEach(builder::withClaim), DigestUtils.md5DigestAsHex(jwt.getToken().getBytes()));
     }
 }
@@ -0,0 +1,159 @@
+package cn.pings.jwt.verifier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.io.Closeable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *********************************************************
+ ** @desc  ： 刷新令牌（时间戳）的本地缓存，位于Redis之前，缓存期内的校验不访问Redis
+ **           1.每个用户的刷新令牌缓存expireTime秒，有用户数上限
+ **           2.sign和invalidateSign修改刷新令牌后通过Redis的发布/订阅通知所有实例删除本地缓存，
+ **             通知丢失时最多使用expireTime秒的旧值
+ **           3.按用户名称分段记录删除通知的次数，读取Redis期间收到的删除通知会使读取结果不被缓存
+ **           4.查找不添加缓存项，只有Redis中的刷新令牌一致且令牌签名校验通过后才缓存，
+ **             伪造的用户名称不会挤掉已缓存的用户
+ ** @author  Pings
+ ** @date    2026/10/17
+ ** @version v1.1
+ **
+ ** V1.1 查找不再添加缓存项，校验通过后才缓存；改用没有后台线程的VerifierCache  Pings 2026-10-17
+ * *******************************************************
+ */
+class RefreshTokenCache implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenCache.class);
+
+    //**删除通知计数的分段数
+    private static final int STRIPES = 64;
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    //**发布/订阅的频道
+    private final String channel;
+    //**缓存时间(毫秒)
+    private final long expireMillis;
+    private final VerifierCache<Entry> entries;
+    //**每段收到的删除通知的次数
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    //**订阅删除通知，没有连接工厂时为null
+    private final RedisMessageListenerContainer container;
+
+    /**
+     *********************************************************
+     ** @desc ： 创建缓存并订阅删除通知
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  redisTemplate  redisTemplate
+     ** @param  channel        发布/订阅的频道
+     ** @param  size           缓存的用户数上限
+     ** @param  expireTime     缓存时间(秒)
+     * *******************************************************
+     */
+    RefreshTokenCache(RedisTemplate<String, Object> redisTemplate, String channel, int size, int expireTime) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.expireMillis = TimeUnit.SECONDS.toMillis(expireTime);
+        this.entries = new VerifierCache<>(size, expireTime, TimeUnit.SECONDS);
+        this.container = this.subscribe(redisTemplate.getConnectionFactory());
+    }
+
+    /**获取缓存的刷新令牌，不存在或者已过期时返回-1，不添加缓存项*/
+    long get(String userName) {
+        Entry entry = this.entries.get(userName);
+        return entry == null || System.currentTimeMillis() >= entry.expiresAt ? -1 : entry.refreshToken;
+    }
+
+    /**读取Redis之前获取的标记，传给put*/
+    long stamp(String userName) {
+        return this.invalidations.get(stripe(userName));
+    }
+
+    /**
+     *********************************************************
+     ** @desc ： 缓存已校验的刷新令牌，获取stamp之后收到删除通知时不缓存
+     ** @author Pings
+     ** @date   2026/10/17
+     ** @param  userName      用户名称
+     ** @param  refreshToken  Redis中一致且签名校验通过的刷新令牌
+     ** @param  stamp         读取Redis之前获取的标记
+     * *******************************************************
+     */
+    void put(String userName, long refreshToken, long stamp) {
+        int stripe = stripe(userName);
+        if (this.invalidations.get(stripe) != stamp)
+            return;
+
+        this.entries.put(userName, new Entry(refreshToken, System.currentTimeMillis() + this.expireMillis));
+        //**与invalidate交错时再次检查，删除可能过时的值
+        if (this.invalidations.get(stripe) != stamp)
+            this.entries.remove(userName);
+    }
+
+    /**删除本地缓存*/
+    void invalidate(String userName) {
+        this.invalidations.incrementAndGet(stripe(userName));
+        this.entries.remove(userName);
+    }
+
+    /**删除本地缓存并通知其它实例*/
+    void publish(String userName) {
+        this.invalidate(userName);
+        try {
+            this.redisTemplate.convertAndSend(this.channel, userName);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish refresh token invalidation of {}: {}", userName, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.container != null) {
+            try {
+                this.container.destroy();
+            } catch (Exception e) {
+                logger.warn("Failed to stop refresh token invalidation listener: {}", e.getMessage());
+            }
+        }
+    }
+
+    //**订阅删除通知，消息内容为用户名称，使用redisTemplate的值序列化方式
+    private RedisMessageListenerContainer subscribe(RedisConnectionFactory connectionFactory) {
+        if (connectionFactory == null) {
+            logger.warn("No connection factory in redisTemplate, refresh token invalidation will not be received");
+            return null;
+        }
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            Object userName = this.redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (userName != null)
+                this.invalidate(userName.toString());
+        }, new ChannelTopic(this.channel));
+        container.afterPropertiesSet();
+        container.start();
+        return container;
+    }
+
+    private static int stripe(String userName) {
+        return (userName.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    //**一个用户的刷新令牌，缓存时间从读取Redis时开始计算，不随访问延长
+    private static final class Entry {
+        private final long refreshToken;
+        private final long expiresAt;
+
+        Entry(long refreshToken, long expiresAt) {
+            this.refreshToken = refreshToken;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package cn.pings.jwt.verifier;
 
-import cn.pings.commons.util.jwt.JwtUtil;
 import cn.pings.jwt.exception.AccessTokenExpiredException;
 import cn.pings.jwt.exception.RefreshTokenExpiredException;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTCreator;
 import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.util.Assert;
 import org.springframework.util.DigestUtils;
 
+import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -21,10 +24,18 @@ import java.util.function.Consumer;
  ** @desc  ： refresh token和access token结合的Jwt校验器
  ** @author  Pings
  ** @date    2019/5/17
- ** @version v1.0
+ ** @version v1.7
+ **
+ ** V1.1 Builder支持设置jwt算法和校验器缓存的用户数上限和空闲时间  Pings 2026-10-17
+ ** V1.2 校验已解码的令牌，不再重复解码  Pings 2026-10-17
+ ** V1.3 支持刷新令牌的本地缓存，修改刷新令牌时通过Redis发布/订阅删除各实例的缓存  Pings 2026-10-17
+ ** V1.4 校验改为一个Lua脚本，签名和校验脚本只创建一次，通过EVALSHA执行并在创建时预加载  Pings 2026-10-17
+ ** V1.5 Builder支持设置非对称密钥环  Pings 2026-10-17
+ ** V1.6 刷新令牌的本地缓存只在刷新令牌一致且签名校验通过后才缓存  Pings 2026-10-17
+ ** V1.7 本地缓存未命中时同样只执行一次校验脚本  Pings 2026-10-17
  * *******************************************************
  */
-public class RefreshTokenJwtVerifier extends AbstractJwtVerifier {
+public class RefreshTokenJwtVerifier extends AbstractJwtVerifier implements Closeable {
 
     //**刷新令牌过期时间(分钟)，默认60分钟
     protected long refreshTokenExpireTime = 60;
@@ -36,11 +47,46 @@ public class RefreshTokenJwtVerifier extends AbstractJwtVerifier {
     public static final String REFRESH_TOKEN_PREFIX = "jwt_refresh_token_";
     //**缓存中保存accessToken key的前缀
     private static final String ACCESS_TOKEN_PREFIX = "jwt_access_token_";
+    //**签名脚本：如果缓存新的访问令牌成功，则缓存新的刷新令牌，返回缓存的访问令牌
+    private static final DefaultRedisScript<String> SIGN_SCRIPT = new DefaultRedisScript<>(
+            "if 1 == redis.call('setnx', KEYS[1], ARGV[1]) then " +
+            "    redis.call('expire', KEYS[1], ARGV[2]) " +
+            "    redis.call('set', KEYS[2], ARGV[3]) " +
+            "    redis.call('expire', KEYS[2], ARGV[4]) " +
+            "    return ARGV[1] " +
+            "else " +
+            "    return redis.call('get', KEYS[1]) " +
+            "end", String.class);
+    //**校验脚本：KEYS[1]刷新令牌的key，KEYS[2]访问令牌的md5，ARGV[1]访问令牌中的刷新令牌，
+    //**返回VERIFY_*，值按redisTemplate的序列化方式比较，与签名脚本保存的方式一致
+    private static final DefaultRedisScript<Long> VERIFY_SCRIPT = new DefaultRedisScript<>(
+            "local refreshToken = redis.call('get', KEYS[1]) " +
+            "if not refreshToken then " +
+            "    return 0 " +
+            "elseif refreshToken == ARGV[1] then " +
+            "    return 1 " +
+            "elseif 1 == redis.call('exists', KEYS[2]) then " +
+            "    return 2 " +
+            "else " +
+            "    return 3 " +
+            "end", Long.class);
+    //**校验脚本的结果：刷新令牌不存在/过期、一致、不一致但访问令牌刚刷新过、不一致
+    private static final long VERIFY_NOT_EXISTED = 0, VERIFY_MATCHED = 1, VERIFY_RECENTLY_SIGNED = 2;
+    //**删除刷新令牌本地缓存的发布/订阅频道
+    public static final String REFRESH_TOKEN_CHANNEL = "jwt_refresh_token_invalidation";
+    //**刷新令牌本地缓存的用户数上限，0表示不使用本地缓存，默认不使用
+    private int refreshTokenCacheSize = 0;
+    //**刷新令牌本地缓存的时间(秒)，默认5S，发布/订阅的通知丢失时最多使用该时间的旧值
+    private int refreshTokenCacheTime = 5;
+    private String refreshTokenChannel = REFRESH_TOKEN_CHANNEL;
+    //**刷新令牌本地缓存，不使用时为null
+    private RefreshTokenCache refreshTokenCache;
 
     public RefreshTokenJwtVerifier(RedisTemplate<String, Object> redisTemplate) {
         Assert.notNull(redisTemplate, "redisTemplate cat not be null");
 
         this.redisTemplate = redisTemplate;
+        this.loadScripts();
     }
 
     @Override
@@ -78,29 +124,45 @@ public class RefreshTokenJwtVerifier extends AbstractJwtVerifier {
         }
 
         //**如果缓存新的访问令牌成功，则缓存新的刷新令牌，返回缓存的访问令牌
-        return this.getNewAccessToken(ACCESS_TOKEN_PREFIX + userName, accessToken, refreshTokenKey, refreshToken);
+        String newAccessToken = this.getNewAccessToken(ACCESS_TOKEN_PREFIX + userName, accessToken, refreshTokenKey, refreshToken);
+
+        //**刷新令牌已修改，删除各实例的本地缓存
+        if (this.refreshTokenCache != null && accessToken.equals(newAccessToken))
+            this.refreshTokenCache.publish(userName);
+
+        return newAccessToken;
     }
 
     @Override
-    public boolean verify(String token) {
-        String key = this.getKey(this.getUserName(token));
+    public boolean verify(DecodedJWT token) {
+        String userName = this.getUserName(token);
+        long currentRefreshToken = this.getRefreshToken(token);
 
-        //**刷新令牌不存在/过期
-        Boolean hasKey = this.redisTemplate.hasKey(key);
-        if (hasKey == null || !hasKey)
-            throw new RefreshTokenExpiredException("The refresh token not existed or expired.");
+        //**本地缓存一致时不访问Redis；不一致时可能是未收到删除通知的旧值，以Redis为准
+        if (this.refreshTokenCache != null && this.refreshTokenCache.get(userName) == currentRefreshToken)
+            return this.verifyAccessToken(token);
 
-        //**刷新令牌和访问令牌的时间戳不一致
-        long refreshToken = (long) this.redisTemplate.opsForValue().get(key);
-        long currentRefreshToken = this.getRefreshToken(token);
-        if(refreshToken != currentRefreshToken) {
-            Boolean flag = this.redisTemplate.hasKey(DigestUtils.md5DigestAsHex(token.getBytes()));
-            if(flag != null && flag)  return true;
+        long stamp = this.refreshTokenCache == null ? 0 : this.refreshTokenCache.stamp(userName);
+        //**一次请求完成刷新令牌的校验
+        Long result = this.redisTemplate.execute(VERIFY_SCRIPT,
+                Arrays.asList(this.getKey(userName), DigestUtils.md5DigestAsHex(token.getToken().getBytes())), currentRefreshToken);
 
+        if (result == null || result == VERIFY_NOT_EXISTED)
+            throw new RefreshTokenExpiredException("The refresh token not existed or expired.");
+        if (result == VERIFY_RECENTLY_SIGNED)
+            return true;
+        if (result != VERIFY_MATCHED)
             throw new RefreshTokenExpiredException("The refresh token has expired.");
-        }
 
-        //**访问令牌校验
+        this.verifyAccessToken(token);
+        //**Redis中的刷新令牌与访问令牌一致，签名校验通过后才缓存，令牌中的用户名称未经校验
+        if (this.refreshTokenCache != null)
+            this.refreshTokenCache.put(userName, currentRefreshToken, stamp);
+        return true;
+    }
+
+    //**访问令牌校验
+    private boolean verifyAccessToken(DecodedJWT token) {
         try {
             return super.verify(token);
         } catch (TokenExpiredException e){
@@ -110,18 +172,20 @@ public class RefreshTokenJwtVerifier extends AbstractJwtVerifier {
 
     //**如果缓存新的访问令牌成功，则缓存新的刷新令牌，返回缓存的访问令牌
     private String getNewAccessToken(String accessTokenKey, String accessToken, String refreshTokenKey, long refreshToken){
-        String script = "if 1 == redis.call('setnx', KEYS[1], ARGV[1]) then " +
-                        "    redis.call('expire', KEYS[1], ARGV[2]) " +
-                        "    redis.call('set', KEYS[2], ARGV[3]) " +
-                        "    redis.call('expire', KEYS[2], ARGV[4]) " +
-                        "    return ARGV[1] " +
-                        "else " +
-                        "    return redis.call('get', KEYS[1]) " +
-                        "end";
-        DefaultRedisScript<String> sc = new DefaultRedisScript<>(script);
-        sc.setResultType(String.class);
-
-        return redisTemplate.execute(sc, Arrays.asList(accessTokenKey, refreshTokenKey), accessToken, tokenSignCacheTime, refreshToken, refreshTokenExpireTime * 60);
+        return redisTemplate.execute(SIGN_SCRIPT, Arrays.asList(accessTokenKey, refreshTokenKey), accessToken, tokenSignCacheTime, refreshToken, refreshTokenExpireTime * 60);
+    }
+
+    //**预加载签名和校验脚本，之后通过EVALSHA执行；Redis重启等原因丢失脚本时，redisTemplate会改用EVAL重新加载
+    private void loadScripts() {
+        try {
+            this.redisTemplate.execute((RedisCallback<Object>) connection -> {
+                connection.scriptLoad(SIGN_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+                connection.scriptLoad(VERIFY_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8));
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Failed to preload redis scripts, they will be loaded on first use: {}", e.getMessage());
+        }
     }
 
     /**刷新令牌：通过删除缓存中的刷新令牌使token无效*/
@@ -129,6 +193,16 @@ public class RefreshTokenJwtVerifier extends AbstractJwtVerifier {
     public void invalidateSign(String userName){
         //**删除refresh token
         this.redisTemplate.delete(this.getKey(userName));
+
+        if (this.refreshTokenCache != null)
+            this.refreshTokenCache.publish(userName);
+    }
+
+    /**停止刷新令牌本地缓存的订阅*/
+    @Override
+    public void close() {
+        if (this.refreshTokenCache != null)
+            this.refreshTokenCache.close();
     }
 
     //**获取缓存中保存refreshToken的key
@@ -137,8 +211,8 @@ public class RefreshTokenJwtVerifier extends AbstractJwtVerifier {
     }
 
     //**获取jwt中的refresh token
-    private long getRefreshToken(String token) {
-        return JwtUtil.getValue(token, REFRESH_TOKEN_PREFIX).asLong();
+    private long getRefreshToken(DecodedJWT token) {
+        return token.getClaim(REFRESH_TOKEN_PREFIX).asLong();
     }
 
     public static class Builder {
@@ -174,7 +248,55 @@ public class RefreshTokenJwtVerifier extends AbstractJwtVerifier {
             return this;
         }
 
+        /**使用非对称密钥环（RS256/ES256）签名和校验访问令牌，代替基础密钥*/
+        public Builder keyRing(JwtKeyRing keyRing) {
+            Assert.notNull(keyRing, "keyRing cat not be null");
+
+            verifier.keyRing = keyRing;
+            return this;
+        }
+
+        /**按用户缓存jwt算法和校验器的用户数上限和空闲时间(分钟)*/
+        public Builder verifierCache(int size, long expireTime) {
+            if (size <= 0 || expireTime <= 0)
+                throw new IllegalArgumentException("size and expireTime must be positive");
+
+            verifier.verifierCacheSize = size;
+            verifier.verifierCacheExpireTime = expireTime;
+            return this;
+        }
+
+        /**
+         *********************************************************
+         ** @desc ： 使用刷新令牌的本地缓存，所有实例都需要开启，才能收到彼此修改刷新令牌的通知
+         ** @author Pings
+         ** @date   2026/10/17
+         ** @param  size        缓存的用户数上限
+         ** @param  expireTime  缓存时间(秒)
+         ** @return Builder
+         * *******************************************************
+         */
+        public Builder refreshTokenCache(int size, int expireTime) {
+            if (size <= 0 || expireTime <= 0)
+                throw new IllegalArgumentException("size and expireTime must be positive");
+
+            verifier.refreshTokenCacheSize = size;
+            verifier.refreshTokenCacheTime = expireTime;
+            return this;
+        }
+
+        /**删除刷新令牌本地缓存的发布/订阅频道，默认jwt_refresh_token_invalidation*/
+        public Builder refreshTokenChannel(String channel) {
+            Assert.hasText(channel, "channel cat not be empty");
+
+            verifier.refreshTokenChannel = channel;
+            return this;
+        }
+
         public RefreshTokenJwtVerifier build() {
+            if (verifier.refreshTokenCacheSize > 0)
+                verifier.refreshTokenCache = new RefreshTokenCache(verifier.redisTemplate, verifier.refreshTokenChannel,
+                        verifier.refreshTokenCacheSize, verifier.refreshTokenCacheTime);
             return verifier;
         }
     }
@@ -0,0 +1,99 @@
+package cn.pings.jwt.verifier;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ *********************************************************
+ ** @desc  ： 按用户缓存的值，有数量上限和空闲时间，没有后台线程，不需要关闭
+ **           1.读取时检查空闲时间，过期的值按不存在处理
+ **           2.数量超过上限时由写入的线程清理：先删除过期的值，仍超过上限的3/4时删除最久未使用的值
+ ** @author  Pings
+ ** @date    2026/10/17
+ ** @version v1.1
+ **
+ ** V1.1 增加remove，用于刷新令牌的本地缓存  Pings 2026-10-17
+ * *******************************************************
+ */
+final class VerifierCache<V> {
+
+    private final int maxSize;
+    //**空闲时间(纳秒)
+    private final long expireNanos;
+    private final Map<String, Node<V>> nodes = new ConcurrentHashMap<>();
+    //**同一时间只有一个线程清理
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    VerifierCache(int maxSize, long expireTime, TimeUnit unit) {
+        if (maxSize <= 0 || expireTime <= 0)
+            throw new IllegalArgumentException("maxSize and expireTime must be positive");
+
+        this.maxSize = maxSize;
+        this.expireNanos = unit.toNanos(expireTime);
+    }
+
+    /**获取未过期的值，不存在时返回null*/
+    V get(String key) {
+        Node<V> node = this.nodes.get(key);
+        if (node == null)
+            return null;
+
+        long now = System.nanoTime();
+        if (now - node.accessed > this.expireNanos) {
+            this.nodes.remove(key, node);
+            return null;
+        }
+        node.accessed = now;
+        return node.value;
+    }
+
+    /**缓存值，已存在时替换*/
+    void put(String key, V value) {
+        this.nodes.put(key, new Node<>(value, System.nanoTime()));
+        if (this.nodes.size() > this.maxSize)
+            this.evict();
+    }
+
+    /**删除值*/
+    void remove(String key) {
+        this.nodes.remove(key);
+    }
+
+    //**删除过期的值，仍超过上限的3/4时删除最久未使用的值
+    private void evict() {
+        if (!this.evicting.compareAndSet(false, true))
+            return;
+
+        try {
+            long now = System.nanoTime();
+            this.nodes.values().removeIf(node -> now - node.accessed > this.expireNanos);
+
+            int excess = this.nodes.size() - this.maxSize / 4 * 3;
+            if (excess <= 0)
+                return;
+
+            List<Map.Entry<String, Node<V>>> entries = new ArrayList<>(this.nodes.entrySet());
+            entries.sort(Comparator.comparingLong(entry -> entry.getValue().accessed - now));
+            for (int i = 0; i < excess && i < entries.size(); i++)
+                this.nodes.remove(entries.get(i).getKey(), entries.get(i).getValue());
+        } finally {
+            this.evicting.set(false);
+        }
+    }
+
+    private static final class Node<V> {
+        private final V value;
+        //**最后访问时间(System.nanoTime)
+        private volatile long accessed;
+
+        Node(V value, long accessed) {
+            this.value = value;
+            this.accessed = accessed;
+        }
+    }
+}